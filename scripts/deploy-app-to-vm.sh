@@ -52,7 +52,7 @@ Requires=kafka.service
 Type=simple
 User=debian
 WorkingDirectory=/opt/banking-app
-ExecStart=/usr/bin/java -jar /opt/banking-app/banking-app.jar
+ExecStart=/usr/bin/java --add-modules jdk.incubator.vector -jar /opt/banking-app/banking-app.jar
 Restart=on-failure
 RestartSec=10
 StandardOutput=journal
@@ -59,7 +59,7 @@ start_app_in_vm() {
     # Kill any existing instance and start new one
     # Use -f flag to background SSH immediately
     ssh -f -p "$VM_SSH_PORT" -i "$SSH_KEY" -o StrictHostKeyChecking=no -o UserKnownHostsFile=/dev/null \
-        "$VM_USER@localhost" "pkill -f banking-app.jar || true; sleep 2; cd $VMAPP_PATH && nohup env KAFKA_BOOTSTRAP_SERVERS=localhost:9092 java -jar banking-app.jar > app.log 2>&1 &"
+        "$VM_USER@localhost" "pkill -f banking-app.jar || true; sleep 2; cd $VMAPP_PATH && nohup env KAFKA_BOOTSTRAP_SERVERS=localhost:9092 java --add-modules jdk.incubator.vector -jar banking-app.jar > app.log 2>&1 &"
     
     echo "Application started in VM"
 }
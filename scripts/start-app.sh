@@ -12,4 +12,4 @@ mvn clean package -DskipTests
 
 echo ""
 echo "Starting Spring Boot Application..."
-java -jar target/banking-app.jar
+java --add-modules jdk.incubator.vector -jar target/banking-app.jar
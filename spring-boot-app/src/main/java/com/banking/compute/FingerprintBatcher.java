@@ -0,0 +1,98 @@
+package com.banking.compute;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects hash-chain fingerprint requests from concurrent callers and runs them
+ * in batches on a single drain task
+ * At most one drain task is scheduled at a time; while it hashes one batch the
+ * next one queues up, so a burst of fraud checks costs a handful of executor
+ * hand-offs instead of eight per check. Callers wait on the returned future,
+ * so they must not be threads of the executor the drain runs on
+ */
+public final class FingerprintBatcher {
+
+    private final Executor executor;
+    private final int maxBatch;
+
+    private final ConcurrentLinkedQueue<Request> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    /**
+     * @param maxBatch chains one drain task hashes before it hands the worker back
+     */
+    public FingerprintBatcher(Executor executor, int maxBatch) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatch);
+        }
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Queues the chain seeded with the decimal text of prefix followed by suffix
+     * Completes with the same value as {@link HashEngine#fingerprint}
+     */
+    public CompletableFuture<Integer> submit(long prefix, long suffix, int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Negative iteration count: " + iterations);
+        }
+        Request request = new Request(prefix, suffix, iterations);
+        pending.add(request);
+        scheduleDrain();
+        return request.result;
+    }
+
+    private void scheduleDrain() {
+        if (!pending.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                failPending(e);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            HashEngine engine = HashEngine.current();
+            Request request;
+            for (int done = 0; done < maxBatch && (request = pending.poll()) != null; done++) {
+                try {
+                    request.result.complete(engine.fingerprint(request.prefix, request.suffix, request.iterations));
+                } catch (RuntimeException e) {
+                    request.result.completeExceptionally(e);
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // Leftovers, or a request that arrived after our last poll but before the flag cleared
+        scheduleDrain();
+    }
+
+    private void failPending(Throwable cause) {
+        Request request;
+        while ((request = pending.poll()) != null) {
+            request.result.completeExceptionally(cause);
+        }
+    }
+
+    private static final class Request {
+        final long prefix;
+        final long suffix;
+        final int iterations;
+        final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+        Request(long prefix, long suffix, int iterations) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.iterations = iterations;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.banking.compute;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Per-thread iterated SHA-256 engine for the fraud-check fingerprints
+ * One MessageDigest and one state buffer per thread; each round digests the
+ * buffer back into itself, so a whole chain allocates nothing
+ */
+public final class HashEngine {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    /** Room for the decimal seed of two longs */
+    private static final int SEED_CAPACITY = 40;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    private static final ThreadLocal<HashEngine> CURRENT = ThreadLocal.withInitial(HashEngine::new);
+
+    private final MessageDigest digest;
+    private final byte[] state = new byte[Math.max(DIGEST_LENGTH, SEED_CAPACITY)];
+
+    private HashEngine() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The calling thread's engine
+     */
+    public static HashEngine current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Fingerprint of the chain seeded with the decimal text of prefix followed by suffix
+     * Every round hashes the previous digest and XORs each byte with the round
+     * number; the result equals the String hashCode of the final digest in lowercase hex
+     */
+    public int fingerprint(long prefix, long suffix, int iterations) {
+        int length = writeDecimal(suffix, state, writeDecimal(prefix, state, 0));
+        for (int i = 0; i < iterations; i++) {
+            digest.update(state, 0, length);
+            try {
+                length = digest.digest(state, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Digest buffer too small", e);
+            }
+            byte mask = (byte) i;
+            for (int j = 0; j < DIGEST_LENGTH; j++) {
+                state[j] ^= mask;
+            }
+        }
+        return hexHashCode(state, length);
+    }
+
+    /**
+     * String.hashCode of the lowercase hex text of the first length bytes, without building it
+     */
+    static int hexHashCode(byte[] bytes, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i] & 0xff;
+            h = 31 * h + HEX_DIGITS[b >>> 4];
+            h = 31 * h + HEX_DIGITS[b & 0xf];
+        }
+        return h;
+    }
+
+    /**
+     * Writes Long.toString(value) as ASCII at offset and returns the end offset
+     */
+    static int writeDecimal(long value, byte[] out, int offset) {
+        if (value == Long.MIN_VALUE) {
+            byte[] text = Long.toString(value).getBytes();
+            System.arraycopy(text, 0, out, offset, text.length);
+            return offset + text.length;
+        }
+        if (value < 0) {
+            out[offset++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        int end = offset + digits;
+        for (int pos = end - 1; pos >= offset; pos--) {
+            out[pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.compute;
+
+/**
+ * Numeric kernels behind the ML inference simulation
+ * {@link #select()} picks the Vector API implementation when the JVM was
+ * started with jdk.incubator.vector and falls back to scalar code otherwise
+ */
+public interface InferenceKernels {
+
+    /**
+     * c = a * b for n x n row-major matrices; c is overwritten
+     */
+    void multiply(double[] a, double[] b, double[] c, int n);
+
+    /**
+     * Sum of tanh(values[i]) over the first length elements
+     */
+    double tanhSum(double[] values, int length);
+
+    String name();
+
+    /**
+     * Chooses the kernels once at startup
+     * The vector class is only loaded reflectively, so a JVM without the
+     * incubator module never links against it
+     */
+    static InferenceKernels select() {
+        if (VectorSupport.isAvailable()) {
+            try {
+                return (InferenceKernels) Class.forName("com.banking.compute.VectorInferenceKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Module present but unusable on this platform - stay scalar
+            }
+        }
+        return new ScalarInferenceKernels();
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.compute;
+
+import java.util.Arrays;
+
+/**
+ * Dense square matrix multiply over flat row-major double[]
+ * i-k-j order walks b and c along rows (unit stride), and 64x64 blocking keeps
+ * the working tiles of a, b and c in cache once n outgrows L2
+ * Each c[i][j] still accumulates its k terms in ascending order, so results
+ * are bit-identical to the textbook i-j-k loop
+ */
+public final class MatrixKernel {
+
+    /** Tile edge: three 64x64 double tiles take 96 KB */
+    static final int BLOCK = 64;
+
+    /** Up to this size all three matrices fit in L2 and tiling only adds loop overhead */
+    static final int UNBLOCKED_MAX = 128;
+
+    private MatrixKernel() {
+    }
+
+    /**
+     * c = a * b for n x n row-major matrices; c is overwritten and must not alias a or b
+     */
+    public static void multiply(double[] a, double[] b, double[] c, int n) {
+        multiply(a, b, c, n, MatrixKernel::multiplyTile);
+    }
+
+    /**
+     * The same blocked multiply with the innermost tile supplied by the caller,
+     * so other kernels (e.g. {@link VectorInferenceKernels}) keep the tiling
+     * and only replace the j-loop
+     */
+    static void multiply(double[] a, double[] b, double[] c, int n, Tile tile) {
+        int cells = n * n;
+        if (a.length < cells || b.length < cells || c.length < cells) {
+            throw new IllegalArgumentException("Buffers too small for a " + n + "x" + n + " multiply");
+        }
+        Arrays.fill(c, 0, cells, 0.0);
+
+        if (n <= UNBLOCKED_MAX) {
+            tile.multiply(a, b, c, n, 0, n, 0, n, 0, n);
+            return;
+        }
+        for (int ii = 0; ii < n; ii += BLOCK) {
+            int iMax = Math.min(ii + BLOCK, n);
+            for (int kk = 0; kk < n; kk += BLOCK) {
+                int kMax = Math.min(kk + BLOCK, n);
+                for (int jj = 0; jj < n; jj += BLOCK) {
+                    int jMax = Math.min(jj + BLOCK, n);
+                    tile.multiply(a, b, c, n, ii, iMax, kk, kMax, jj, jMax);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a[ii..iMax)[kk..kMax) * b[kk..kMax)[jj..jMax) into c[ii..iMax)[jj..jMax)
+     */
+    @FunctionalInterface
+    interface Tile {
+        void multiply(double[] a, double[] b, double[] c, int n,
+                      int ii, int iMax, int kk, int kMax, int jj, int jMax);
+    }
+
+    private static void multiplyTile(double[] a, double[] b, double[] c, int n,
+                                     int ii, int iMax, int kk, int kMax, int jj, int jMax) {
+        for (int i = ii; i < iMax; i++) {
+            int rowA = i * n;
+            int rowC = i * n;
+            for (int k = kk; k < kMax; k++) {
+                double aik = a[rowA + k];
+                int rowB = k * n;
+                for (int j = jj; j < jMax; j++) {
+                    c[rowC + j] += aik * b[rowB + j];
+                }
+            }
+        }
+    }
+}
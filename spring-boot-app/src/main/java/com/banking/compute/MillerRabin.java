@@ -0,0 +1,166 @@
+package com.banking.compute;
+
+/**
+ * Deterministic Miller-Rabin primality test for every non-negative long
+ * Values below 2^31.5 use plain modular arithmetic with bases {2, 3, 5, 7};
+ * larger ones use Montgomery multiplication (no 128-bit division needed) and
+ * Jim Sinclair's seven bases, which have no strong pseudoprime below 2^64
+ */
+public final class MillerRabin {
+
+    private static final int[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+
+    private static final long[] SMALL_BASES = {2, 3, 5, 7};
+
+    private static final long[] LARGE_BASES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    /** Largest n for which (n - 1)^2 fits in a signed long */
+    private static final long DIRECT_LIMIT = 3_037_000_499L;
+
+    private MillerRabin() {
+    }
+
+    public static boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        for (int p : SMALL_PRIMES) {
+            if (n % p == 0) {
+                return n == p;
+            }
+        }
+        if (n < 41 * 41) {
+            return true;
+        }
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>>= s;
+
+        if (n <= DIRECT_LIMIT) {
+            for (long a : SMALL_BASES) {
+                if (!passesDirect(a, d, s, n)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Montgomery mont = new Montgomery(n);
+        for (long a : LARGE_BASES) {
+            if (!mont.passes(a % n, d, s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean passesDirect(long a, long d, int s, long n) {
+        long x = 1;
+        long base = a % n;
+        for (long e = d; e > 0; e >>>= 1) {
+            if ((e & 1) != 0) {
+                x = x * base % n;
+            }
+            base = base * base % n;
+        }
+        if (x == 1 || x == n - 1) {
+            return true;
+        }
+        for (int r = 1; r < s; r++) {
+            x = x * x % n;
+            if (x == n - 1) {
+                return true;
+            }
+            if (x == 1) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Montgomery arithmetic modulo an odd n below 2^63 with R = 2^64
+     */
+    private static final class Montgomery {
+        private final long n;
+        private final long nInverse;
+        private final long one;
+        private final long minusOne;
+        private final long rSquared;
+
+        Montgomery(long n) {
+            this.n = n;
+
+            // Newton iteration: each step doubles the correct low bits (3 -> 96)
+            long inv = n;
+            for (int i = 0; i < 5; i++) {
+                inv *= 2 - n * inv;
+            }
+            this.nInverse = inv;
+
+            long r = Long.remainderUnsigned(-n, n); // 2^64 mod n
+            this.one = r;
+            this.minusOne = n - r;
+
+            long r2 = r;
+            for (int i = 0; i < 64; i++) {
+                r2 = addMod(r2, r2);
+            }
+            this.rSquared = r2;
+        }
+
+        boolean passes(long a, long d, int s) {
+            if (a == 0) {
+                return true;
+            }
+            long x = pow(toMontgomery(a), d);
+            if (x == one || x == minusOne) {
+                return true;
+            }
+            for (int r = 1; r < s; r++) {
+                x = multiply(x, x);
+                if (x == minusOne) {
+                    return true;
+                }
+                if (x == one) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private long pow(long base, long e) {
+            long result = one;
+            while (e > 0) {
+                if ((e & 1) != 0) {
+                    result = multiply(result, base);
+                }
+                base = multiply(base, base);
+                e >>>= 1;
+            }
+            return result;
+        }
+
+        private long toMontgomery(long a) {
+            return multiply(a, rSquared);
+        }
+
+        /**
+         * REDC(a * b): both operands below n, so the 128-bit product is below n * 2^64
+         */
+        private long multiply(long a, long b) {
+            long hi = Math.multiplyHigh(a, b);
+            long lo = a * b;
+            long m = lo * nInverse;
+            // m * n has the same low word as the product, so only the high words subtract
+            long mnHi = Math.multiplyHigh(m, n) + ((m >> 63) & n);
+            long t = hi - mnHi;
+            return t < 0 ? t + n : t;
+        }
+
+        private long addMod(long a, long b) {
+            return a >= n - b ? a - (n - b) : a + b;
+        }
+    }
+}
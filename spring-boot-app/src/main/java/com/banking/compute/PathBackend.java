@@ -0,0 +1,14 @@
+package com.banking.compute;
+
+/**
+ * How a chunk of Monte Carlo paths is walked; both give the same draws to the same paths
+ */
+public enum PathBackend {
+    /** One path at a time, all of its steps before the next path */
+    SCALAR,
+    /**
+     * Structure-of-arrays: a block of paths advances step by step in lockstep
+     * through {@link PathBlockKernels}, vectorised when the Vector API is available
+     */
+    BLOCK
+}
@@ -0,0 +1,38 @@
+package com.banking.compute;
+
+/**
+ * Lockstep walk of a block of Monte Carlo paths stored as structure-of-arrays
+ * {@link #select()} picks the Vector API implementation when the JVM was
+ * started with jdk.incubator.vector and falls back to scalar code otherwise
+ */
+public interface PathBlockKernels {
+
+    /**
+     * Advances width paths through every step of model
+     * balances[lane] holds each path's start and receives its final balance;
+     * draws[step * width + lane] is the normal driving that lane at that step.
+     * When controls is non-null it is multiplied by each step's
+     * 1 + z * volatility + drift factor, as in {@link PathModel#controlValue}
+     */
+    void walk(PathModel model, double[] balances, double[] draws, int width, double[] controls);
+
+    String name();
+
+    /**
+     * Chooses the kernels once at startup
+     * The vector class is only loaded reflectively, so a JVM without the
+     * incubator module never links against it
+     */
+    static PathBlockKernels select() {
+        if (VectorSupport.isAvailable()) {
+            try {
+                return (PathBlockKernels) Class.forName("com.banking.compute.VectorPathBlockKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Module present but unusable on this platform - stay scalar
+            }
+        }
+        return new ScalarPathBlockKernels();
+    }
+}
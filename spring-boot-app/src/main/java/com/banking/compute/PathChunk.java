@@ -0,0 +1,175 @@
+package com.banking.compute;
+
+import java.util.SplittableRandom;
+
+/**
+ * One worker's share of a Monte Carlo risk run
+ * A chunk owns its random stream (or shifted Sobol cursor) and its running
+ * moments for the whole run, so adaptive batches simply continue where the
+ * previous batch stopped. Runs of one chunk must not overlap; successive runs
+ * may happen on different threads if they are ordered (e.g. by Future.get)
+ */
+public final class PathChunk {
+
+    /** Paths per structure-of-arrays block, and the cap on draws it buffers for long walks */
+    static final int BLOCK_PATHS = 64;
+    static final int MAX_BLOCK_DRAWS = 1 << 14;
+
+    private static final PathBlockKernels BLOCK_KERNELS = PathBlockKernels.select();
+
+    private final PathModel model;
+    private final double start;
+    private final VarianceReduction technique;
+    private final PathBackend backend;
+    private final SplittableRandom random;
+    private final SobolSequence.Cursor sobol;
+
+    private final RunningStats outcomes = new RunningStats();
+
+    /** x = sampling unit (a path, or an antithetic pair's average), y = control value */
+    private final RunningCovariance units = new RunningCovariance();
+
+    /**
+     * Chunk number chunk of the run identified by (accountId, requestSeed); its
+     * stream depends only on those, never on the thread that runs it
+     */
+    public PathChunk(PathModel model, double start, VarianceReduction technique,
+                     long accountId, long requestSeed, int chunk) {
+        this(model, start, technique, PathBackend.SCALAR, accountId, requestSeed, chunk);
+    }
+
+    /**
+     * As above, walked by the given backend; the backend never changes which draws a path gets
+     */
+    public PathChunk(PathModel model, double start, VarianceReduction technique, PathBackend backend,
+                     long accountId, long requestSeed, int chunk) {
+        this.model = model;
+        this.start = start;
+        this.technique = technique;
+        this.backend = backend;
+        this.random = RandomStreams.forTask(accountId, requestSeed, RandomStreams.RISK_PATHS, chunk);
+        if (technique == VarianceReduction.SOBOL) {
+            SobolSequence sequence = SobolSequence.of(model.steps());
+            int[] shifts = new int[model.steps()];
+            for (int d = 0; d < shifts.length; d++) {
+                shifts[d] = random.nextInt();
+            }
+            this.sobol = sequence.cursor(0, shifts);
+        } else {
+            this.sobol = null;
+        }
+    }
+
+    /**
+     * Simulates count more paths into out[offset, offset + count)
+     * Antithetic chunks should get even counts; an odd path is walked on its own
+     */
+    public void run(double[] out, int offset, int count) {
+        if (backend == PathBackend.BLOCK) {
+            runBlocks(out, offset, count);
+            return;
+        }
+        if (technique == VarianceReduction.NONE) {
+            for (int i = 0; i < count; i++) {
+                double value = model.simulate(start, random);
+                out[offset + i] = value;
+                outcomes.add(value);
+                units.add(value, 0);
+            }
+            return;
+        }
+
+        double[] draws = ScratchArena.current().doubles(1, model.steps());
+        int i = 0;
+        while (i < count) {
+            if (technique == VarianceReduction.SOBOL) {
+                sobol.nextNormals(draws);
+            } else {
+                for (int step = 0; step < model.steps(); step++) {
+                    draws[step] = ZigguratGaussian.next(random);
+                }
+            }
+
+            double value = model.simulate(start, draws, 1.0);
+            out[offset + i++] = value;
+            outcomes.add(value);
+
+            if (technique == VarianceReduction.ANTITHETIC && i < count) {
+                double mirror = model.simulate(start, draws, -1.0);
+                out[offset + i++] = mirror;
+                outcomes.add(mirror);
+                units.add((value + mirror) / 2, 0);
+            } else if (technique == VarianceReduction.CONTROL_VARIATE) {
+                units.add(value, model.controlValue(start, draws, 1.0));
+            } else {
+                units.add(value, 0);
+            }
+        }
+    }
+
+    /**
+     * Block backend: fills a step-major draw matrix path by path, in the same order
+     * the scalar walk consumes the stream, then hands the block to the kernels
+     * Blocks have an even width, so antithetic pairs never straddle two blocks
+     */
+    private void runBlocks(double[] out, int offset, int count) {
+        int steps = model.steps();
+        int blockPaths = Math.max(2, Math.min(BLOCK_PATHS, MAX_BLOCK_DRAWS / steps) & ~1);
+        ScratchArena arena = ScratchArena.current();
+        double[] draws = arena.doubles(1, blockPaths * steps);
+        double[] balances = arena.doubles(2, blockPaths);
+        double[] controls = technique == VarianceReduction.CONTROL_VARIATE ? arena.doubles(3, blockPaths) : null;
+
+        for (int done = 0; done < count; done += blockPaths) {
+            int width = Math.min(blockPaths, count - done);
+            for (int lane = 0; lane < width; lane++) {
+                if (technique == VarianceReduction.ANTITHETIC && (lane & 1) == 1) {
+                    for (int step = 0, index = lane; step < steps; step++, index += width) {
+                        draws[index] = -draws[index - 1];
+                    }
+                } else if (technique == VarianceReduction.SOBOL) {
+                    sobol.nextNormals(draws, lane, width);
+                } else {
+                    for (int step = 0, index = lane; step < steps; step++, index += width) {
+                        draws[index] = ZigguratGaussian.next(random);
+                    }
+                }
+                balances[lane] = start;
+                if (controls != null) {
+                    controls[lane] = start;
+                }
+            }
+
+            BLOCK_KERNELS.walk(model, balances, draws, width, controls);
+
+            for (int lane = 0; lane < width; lane++) {
+                double value = balances[lane];
+                out[offset + done + lane] = value;
+                outcomes.add(value);
+                if (technique == VarianceReduction.ANTITHETIC) {
+                    if ((lane & 1) == 1) {
+                        units.add((balances[lane - 1] + value) / 2, 0);
+                    } else if (lane == width - 1) {
+                        units.add(value, 0);
+                    }
+                } else {
+                    units.add(value, controls != null ? controls[lane] : 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moments of the individual path outcomes
+     */
+    public RunningStats outcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Moments of the sampling units, paired with the control value
+     */
+    public RunningCovariance units() {
+        return units;
+    }
+}
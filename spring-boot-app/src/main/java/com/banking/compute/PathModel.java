@@ -0,0 +1,142 @@
+package com.banking.compute;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Step coefficients of the Monte Carlo balance walk, computed once per model
+ * A path advances as balance *= 1 + z * volatility[s] + drift[s], then
+ * balance += log1p(|balance|) * reversion[s], for a standard normal draw z;
+ * none of the coefficients depend on the path, so they live in flat tables
+ */
+public final class PathModel {
+
+    public static final int DEFAULT_STEPS = 100;
+
+    /** Keeps a misconfigured model from turning one request into minutes of CPU */
+    public static final int MAX_STEPS = 100_000;
+
+    /**
+     * Per-step drift; amplitudes match the original 0.05 sine drift
+     */
+    public enum Drift {
+        /** sin(0.1 * step) * 0.05 - the original walk */
+        SINE {
+            @Override
+            double at(int step, int steps) {
+                return Math.sin(step * 0.1) * 0.05;
+            }
+        },
+        /** 0.05 at the first step, falling linearly to 0 at the last */
+        LINEAR_DECAY {
+            @Override
+            double at(int step, int steps) {
+                return 0.05 * (steps - step) / steps;
+            }
+        },
+        /** Pure diffusion */
+        NONE {
+            @Override
+            double at(int step, int steps) {
+                return 0.0;
+            }
+        };
+
+        abstract double at(int step, int steps);
+    }
+
+    private static final PathModel STANDARD = of(DEFAULT_STEPS, Drift.SINE);
+
+    final int steps;
+    final Drift driftFunction;
+    final double[] drift;
+    final double[] volatility;
+    final double[] reversion;
+
+    private PathModel(int steps, Drift driftFunction) {
+        this.steps = steps;
+        this.driftFunction = driftFunction;
+        this.drift = new double[steps];
+        this.volatility = new double[steps];
+        this.reversion = new double[steps];
+        for (int step = 0; step < steps; step++) {
+            drift[step] = driftFunction.at(step, steps);
+            volatility[step] = Math.sqrt(step + 1) * 0.02;
+            reversion[step] = Math.cos(step);
+        }
+    }
+
+    public static PathModel of(int steps, Drift driftFunction) {
+        if (steps < 1 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("Path steps " + steps + " outside 1.." + MAX_STEPS);
+        }
+        if (driftFunction == null) {
+            throw new IllegalArgumentException("Drift function is required");
+        }
+        return new PathModel(steps, driftFunction);
+    }
+
+    /**
+     * The original 100-step sine-drift walk
+     */
+    public static PathModel standard() {
+        return STANDARD;
+    }
+
+    public int steps() {
+        return steps;
+    }
+
+    public Drift driftFunction() {
+        return driftFunction;
+    }
+
+    /**
+     * Final balance of one path started at start, drawing steps() ziggurat normals from random
+     */
+    public double simulate(double start, RandomGenerator random) {
+        double balance = start;
+        for (int step = 0; step < steps; step++) {
+            double change = ZigguratGaussian.next(random) * volatility[step] + drift[step];
+            balance *= (1 + change);
+            balance += Math.log1p(Math.abs(balance)) * reversion[step];
+        }
+        return balance;
+    }
+
+    /**
+     * Final balance of one path driven by the given normals, each multiplied by sign
+     * (-1 walks the antithetic mirror of the same draws)
+     */
+    public double simulate(double start, double[] draws, double sign) {
+        double balance = start;
+        for (int step = 0; step < steps; step++) {
+            double change = sign * draws[step] * volatility[step] + drift[step];
+            balance *= (1 + change);
+            balance += Math.log1p(Math.abs(balance)) * reversion[step];
+        }
+        return balance;
+    }
+
+    /**
+     * Control variate for the same draws: the walk without its mean-reversion term,
+     * start * prod(1 + sign * z * volatility + drift), whose expectation is known exactly
+     */
+    public double controlValue(double start, double[] draws, double sign) {
+        double product = start;
+        for (int step = 0; step < steps; step++) {
+            product *= 1 + sign * draws[step] * volatility[step] + drift[step];
+        }
+        return product;
+    }
+
+    /**
+     * E[controlValue] = start * prod(1 + drift), since the draws are independent with mean zero
+     */
+    public double controlMean(double start) {
+        double product = start;
+        for (int step = 0; step < steps; step++) {
+            product *= 1 + drift[step];
+        }
+        return product;
+    }
+}
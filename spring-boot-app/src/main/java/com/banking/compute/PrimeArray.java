@@ -0,0 +1,95 @@
+package com.banking.compute;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Ascending primes held in a primitive long[] - no boxing on the search path
+ * Workers fill their own buffer in place; {@link #concat} merges the parts by
+ * offset into a single exact-sized array
+ */
+public final class PrimeArray {
+
+    public static final PrimeArray EMPTY = new PrimeArray(new long[0], 0);
+
+    private final long[] values;
+    private final int size;
+
+    PrimeArray(long[] values, int size) {
+        if (size < 0 || size > values.length) {
+            throw new IllegalArgumentException("Size " + size + " outside buffer of " + values.length);
+        }
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Wraps the array without copying; the caller hands over ownership
+     */
+    public static PrimeArray wrap(long[] values) {
+        return values.length == 0 ? EMPTY : new PrimeArray(values, values.length);
+    }
+
+    /**
+     * Concatenates the parts in order; each part is copied once, at its prefix-sum offset
+     */
+    public static PrimeArray concat(PrimeArray... parts) {
+        long total = 0;
+        PrimeArray nonEmpty = EMPTY;
+        int nonEmptyParts = 0;
+        for (PrimeArray part : parts) {
+            total += part.size;
+            if (part.size > 0) {
+                nonEmpty = part;
+                nonEmptyParts++;
+            }
+        }
+        if (nonEmptyParts <= 1) {
+            return nonEmpty;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many primes to hold in one array: " + total);
+        }
+
+        long[] merged = new long[(int) total];
+        int offset = 0;
+        for (PrimeArray part : parts) {
+            System.arraycopy(part.values, 0, merged, offset, part.size);
+            offset += part.size;
+        }
+        return new PrimeArray(merged, merged.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return values[index];
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(values, 0, size);
+    }
+
+    /**
+     * Exact-sized copy of the primes
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,80 @@
+package com.banking.compute;
+
+/**
+ * Count-only prime range queries
+ * Small ranges are read from the prime table or sieved; everything else uses
+ * Lucy_Hedgehog's O(n^3/4) time, O(sqrt n) space prime-counting function
+ */
+public final class PrimeCounter {
+
+    /** Largest bound accepted by {@link #pi(long)} (~50 MB of working arrays) */
+    public static final long MAX_LIMIT = 10_000_000_000_000L;
+
+    private PrimeCounter() {
+    }
+
+    /**
+     * Number of primes in [from, to)
+     */
+    public static long countPrimes(long from, long to) {
+        if (to <= 2 || from >= to) {
+            return 0;
+        }
+        from = Math.max(from, 0);
+
+        if (PrimeTable.covers(to)) {
+            long[] primes = PrimeTable.shared().primesBelow(to);
+            return PrimeTable.lowerBound(primes, to) - PrimeTable.lowerBound(primes, from);
+        }
+        // Sieving costs ~width, counting ~n^3/4 per endpoint: pick the cheaper one
+        if (to <= SegmentedSieve.MAX_LIMIT && to - from <= Math.pow(to, 0.75)) {
+            return SegmentedSieve.countPrimes(from, to);
+        }
+        return pi(to - 1) - pi(from - 1);
+    }
+
+    /**
+     * Lucy_Hedgehog prime counting: pi(n) = number of primes <= n
+     * S(v) starts as the count of 2..v and every prime p <= sqrt(n) removes the
+     * numbers whose smallest factor is p, for every v of the form n / i
+     */
+    public static long pi(long n) {
+        if (n < 2) {
+            return 0;
+        }
+        if (n > MAX_LIMIT) {
+            throw new IllegalArgumentException("Prime counting limit " + n + " exceeds " + MAX_LIMIT);
+        }
+        int r = (int) SegmentedSieve.isqrt(n);
+
+        // small[v] = S(v) for v <= r, large[i] = S(n / i) for i <= r
+        long[] small = new long[r + 1];
+        long[] large = new long[r + 1];
+        for (int v = 1; v <= r; v++) {
+            small[v] = v - 1;
+            large[v] = n / v - 1;
+        }
+
+        for (int p = 2; p <= r; p++) {
+            if (small[p] == small[p - 1]) {
+                continue; // p is composite
+            }
+            long sp = small[p - 1];
+            long p2 = (long) p * p;
+
+            long iMax = Math.min(r, n / p2);
+            for (int i = 1; i <= iMax; i++) {
+                long d = (long) i * p;
+                if (d <= r) {
+                    large[i] -= large[(int) d] - sp;
+                } else {
+                    large[i] -= small[(int) (n / d)] - sp;
+                }
+            }
+            for (int v = r; v >= p2; v--) {
+                small[v] -= small[v / p] - sp;
+            }
+        }
+        return large[1];
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.compute;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork/join prime search over [from, to)
+ * Ranges are halved while they are wider than the leaf threshold and the
+ * worker's own queue is nearly empty, so idle workers steal the remaining
+ * halves and expensive high ranges no longer hold up a fixed slice plan
+ */
+public final class PrimeSearchTask extends RecursiveAction {
+
+    /** Narrowest range worth a task of its own - below this, base-prime setup dominates */
+    static final long MIN_LEAF_WIDTH = 1L << 16;
+
+    /** Keep splitting while fewer than this many tasks wait in the local queue */
+    private static final int SURPLUS_TASK_LIMIT = 3;
+
+    private final long from;
+    private final long to;
+    private final long leafWidth;
+
+    private PrimeSearchTask left;
+    private PrimeSearchTask right;
+    private PrimeArray primes;
+
+    private PrimeSearchTask(long from, long to, long leafWidth) {
+        this.from = from;
+        this.to = to;
+        this.leafWidth = leafWidth;
+    }
+
+    /**
+     * Every prime in [from, to), ascending
+     * Ranges inside the shared prime table are a single slice copy; everything
+     * else is sieved by a task tree sized to the pool's parallelism
+     */
+    public static PrimeArray search(ForkJoinPool pool, long from, long to) {
+        from = Math.max(from, 0);
+        if (from >= to) {
+            return PrimeArray.EMPTY;
+        }
+        if (PrimeTable.covers(to)) {
+            return PrimeArray.wrap(PrimeTable.shared().primesInRange(from, to));
+        }
+
+        // Aim for ~8 leaves per worker so stealing can even out uneven leaves
+        long leafWidth = Math.max(MIN_LEAF_WIDTH, (to - from) / (pool.getParallelism() * 8L));
+        PrimeSearchTask root = new PrimeSearchTask(from, to, leafWidth);
+        pool.invoke(root);
+
+        List<PrimeArray> leaves = new ArrayList<>();
+        root.collectLeaves(leaves);
+        return PrimeArray.concat(leaves.toArray(new PrimeArray[0]));
+    }
+
+    @Override
+    protected void compute() {
+        long width = to - from;
+        if (width > 2 * leafWidth && getSurplusQueuedTaskCount() < SURPLUS_TASK_LIMIT) {
+            long mid = from + width / 2;
+            left = new PrimeSearchTask(from, mid, leafWidth);
+            right = new PrimeSearchTask(mid, to, leafWidth);
+            right.fork();
+            left.compute();
+            right.join();
+        } else {
+            primes = SegmentedSieve.collect(from, to);
+        }
+    }
+
+    /**
+     * In-order walk so the leaves are merged once, by offset, at the root
+     */
+    private void collectLeaves(List<PrimeArray> leaves) {
+        if (primes != null) {
+            leaves.add(primes);
+        } else {
+            left.collectLeaves(leaves);
+            right.collectLeaves(leaves);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.banking.compute;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-wide table of all primes below a growing limit
+ * Readers work on an immutable snapshot; growth sieves the next window and
+ * publishes a larger snapshot with compareAndSet, so lookups never block
+ */
+public final class PrimeTable {
+
+    /** Largest limit the table will grow to (~1.08M primes, ~8.6 MB) */
+    public static final long MAX_LIMIT = 1L << 24;
+
+    private static final long INITIAL_LIMIT = 1L << 16;
+
+    private static final PrimeTable SHARED = new PrimeTable(INITIAL_LIMIT);
+
+    private final AtomicReference<Snapshot> current;
+
+    PrimeTable(long initialLimit) {
+        this.current = new AtomicReference<>(new Snapshot(initialLimit, simpleSieve((int) initialLimit)));
+    }
+
+    public static PrimeTable shared() {
+        return SHARED;
+    }
+
+    /**
+     * Whether values below the given bound can be answered from the table
+     */
+    public static boolean covers(long bound) {
+        return bound <= MAX_LIMIT;
+    }
+
+    /**
+     * Current exclusive limit of the table
+     */
+    public long limit() {
+        return current.get().limit;
+    }
+
+    /**
+     * Returns the nth prime (1-based), growing the table if needed
+     */
+    public long nthPrime(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        Snapshot snapshot = current.get();
+        while (snapshot.primes.length < n) {
+            if (snapshot.limit >= MAX_LIMIT) {
+                throw new IllegalArgumentException("Prime #" + n + " is beyond the table limit " + MAX_LIMIT);
+            }
+            snapshot = ensure(Math.min(MAX_LIMIT, nthPrimeUpperBound(n)));
+        }
+        return snapshot.primes[n - 1];
+    }
+
+    /**
+     * Primality by binary search over the table
+     */
+    public boolean isPrime(long n) {
+        if (n < 2) {
+            return false;
+        }
+        return Arrays.binarySearch(ensure(n + 1).primes, n) >= 0;
+    }
+
+    /**
+     * Returns a copy of the primes in [from, to)
+     */
+    public long[] primesInRange(long from, long to) {
+        if (from >= to) {
+            return new long[0];
+        }
+        long[] primes = ensure(to).primes;
+        return Arrays.copyOfRange(primes, lowerBound(primes, from), lowerBound(primes, to));
+    }
+
+    /**
+     * Grows the table ahead of time so later lookups below bound are pure reads
+     */
+    public void ensureCapacity(long bound) {
+        ensure(bound);
+    }
+
+    /**
+     * Returns a sorted array whose prefix holds every prime below bound
+     * The array is shared and must not be modified
+     */
+    long[] primesBelow(long bound) {
+        return ensure(bound).primes;
+    }
+
+    /**
+     * Grows the table until it covers every value below bound
+     * Concurrent growers race on compareAndSet; losers adopt the winner's snapshot
+     */
+    Snapshot ensure(long bound) {
+        if (bound > MAX_LIMIT) {
+            throw new IllegalArgumentException("Bound " + bound + " exceeds the table limit " + MAX_LIMIT);
+        }
+        Snapshot snapshot = current.get();
+        while (snapshot.limit < bound) {
+            // Never grow past limit^2 so the new window only needs primes already in the table
+            long target = Math.min(MAX_LIMIT, Math.max(bound, snapshot.limit * 2));
+            target = Math.min(target, snapshot.limit * snapshot.limit);
+            Snapshot grown = snapshot.extendTo(target);
+            snapshot = current.compareAndSet(snapshot, grown) ? grown : current.get();
+        }
+        return snapshot;
+    }
+
+    static int lowerBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long nthPrimeUpperBound(int n) {
+        if (n < 6) {
+            return 14;
+        }
+        double ln = Math.log(n);
+        // Rosser's bound: p_n < n (ln n + ln ln n) for n >= 6
+        return (long) (n * (ln + Math.log(ln))) + 1;
+    }
+
+    private static long[] simpleSieve(int limit) {
+        boolean[] composite = new boolean[limit];
+        int count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j < limit; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        long[] primes = new long[count];
+        int idx = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                primes[idx++] = i;
+            }
+        }
+        return primes;
+    }
+
+    /**
+     * Immutable view: every prime below limit, ascending
+     */
+    static final class Snapshot {
+        final long limit;
+        final long[] primes;
+
+        Snapshot(long limit, long[] primes) {
+            this.limit = limit;
+            this.primes = primes;
+        }
+
+        Snapshot extendTo(long newLimit) {
+            long[] window = SegmentedSieve.primesInRange(limit, newLimit, primes);
+            long[] merged = Arrays.copyOf(primes, primes.length + window.length);
+            System.arraycopy(window, 0, merged, primes.length, window.length);
+            return new Snapshot(newLimit, merged);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.banking.compute;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic, independent random streams for the compute kernels
+ * Each subtask's generator is a SplittableRandom whose seed is a SplitMix64
+ * hash of (accountId, requestSeed, stream, index), so results depend only on
+ * those inputs and never on which thread ran the subtask or when
+ */
+public final class RandomStreams {
+
+    /** Stream ids - one per kernel so their draws never overlap */
+    public static final int RISK_PATHS = 1;
+    public static final int ANOMALY = 2;
+    public static final int ML_INFERENCE = 3;
+    public static final int PORTFOLIO = 4;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private RandomStreams() {
+    }
+
+    /**
+     * Generator for subtask index of the given stream; not shared between threads
+     */
+    public static SplittableRandom forTask(long accountId, long requestSeed, int stream, int index) {
+        long seed = mix64(accountId + GOLDEN_GAMMA);
+        seed = mix64((seed ^ requestSeed) + GOLDEN_GAMMA);
+        seed = mix64((seed ^ (((long) stream << 32) | (index & 0xffffffffL))) + GOLDEN_GAMMA);
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * SplitMix64 finaliser (Stafford variant 13)
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,82 @@
+package com.banking.compute;
+
+/**
+ * Single-pass means, variances and covariance of paired samples (x, y)
+ * Bivariate Welford update with the matching pairwise merge, as in {@link RunningStats}
+ */
+public final class RunningCovariance {
+
+    private long count;
+    private double meanX;
+    private double meanY;
+    private double m2X;
+    private double m2Y;
+    private double coMoment;
+
+    public void add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        meanX += dx / count;
+        double dy = y - meanY;
+        meanY += dy / count;
+        m2X += dx * (x - meanX);
+        m2Y += dy * (y - meanY);
+        coMoment += dx * (y - meanY);
+    }
+
+    /**
+     * Folds other's samples into this one; other is left unchanged
+     */
+    public RunningCovariance merge(RunningCovariance other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            count = other.count;
+            meanX = other.meanX;
+            meanY = other.meanY;
+            m2X = other.m2X;
+            m2Y = other.m2Y;
+            coMoment = other.coMoment;
+            return this;
+        }
+        long total = count + other.count;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        double weight = (double) count * other.count / total;
+        meanX += dx * other.count / total;
+        meanY += dy * other.count / total;
+        m2X += other.m2X + dx * dx * weight;
+        m2Y += other.m2Y + dy * dy * weight;
+        coMoment += other.coMoment + dx * dy * weight;
+        count = total;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double meanX() {
+        return count == 0 ? Double.NaN : meanX;
+    }
+
+    public double meanY() {
+        return count == 0 ? Double.NaN : meanY;
+    }
+
+    /**
+     * Population variances and covariance (divide by n)
+     */
+    public double varianceX() {
+        return count == 0 ? Double.NaN : m2X / count;
+    }
+
+    public double varianceY() {
+        return count == 0 ? Double.NaN : m2Y / count;
+    }
+
+    public double covariance() {
+        return count == 0 ? Double.NaN : coMoment / count;
+    }
+}
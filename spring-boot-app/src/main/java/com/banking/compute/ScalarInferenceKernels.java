@@ -0,0 +1,26 @@
+package com.banking.compute;
+
+/**
+ * Plain Java kernels - the fallback and the reference for the vector path
+ */
+public final class ScalarInferenceKernels implements InferenceKernels {
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] c, int n) {
+        MatrixKernel.multiply(a, b, c, n);
+    }
+
+    @Override
+    public double tanhSum(double[] values, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += Math.tanh(values[i]);
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,43 @@
+package com.banking.compute;
+
+/**
+ * Plain Java block walk - the fallback and the reference for the vector path
+ * The inner loop runs across lanes, so the independent log1p calls of a step
+ * can overlap; per path it performs exactly the operations of
+ * {@link PathModel#simulate(double, double[], double)}, so results match bit for bit
+ */
+public final class ScalarPathBlockKernels implements PathBlockKernels {
+
+    @Override
+    public void walk(PathModel model, double[] balances, double[] draws, int width, double[] controls) {
+        walkLanes(model, balances, draws, width, controls, 0, width);
+    }
+
+    /**
+     * Walks lanes [from, to) of a block of the given width
+     */
+    static void walkLanes(PathModel model, double[] balances, double[] draws, int width, double[] controls,
+                          int from, int to) {
+        for (int step = 0; step < model.steps; step++) {
+            double volatility = model.volatility[step];
+            double drift = model.drift[step];
+            double reversion = model.reversion[step];
+            int row = step * width;
+            for (int lane = from; lane < to; lane++) {
+                double change = draws[row + lane] * volatility + drift;
+                double balance = balances[lane] * (1 + change);
+                balances[lane] = balance + Math.log1p(Math.abs(balance)) * reversion;
+            }
+            if (controls != null) {
+                for (int lane = from; lane < to; lane++) {
+                    controls[lane] *= 1 + draws[row + lane] * volatility + drift;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,57 @@
+package com.banking.compute;
+
+/**
+ * Per-thread scratch buffers for the compute kernels
+ * Each thread keeps a small fixed set of slots that grow to the largest
+ * length requested and are then reused, so steady-state calls allocate nothing.
+ * Buffers are handed out dirty - callers must overwrite what they read
+ */
+public final class ScratchArena {
+
+    /** Number of independent buffers a kernel can hold at once */
+    public static final int SLOTS = 4;
+
+    /**
+     * Larger requests are served but not kept, so one outlier can't pin memory per thread
+     * 64K doubles (512 KB) covers every fixed-size kernel buffer; request-sized
+     * buffers such as adaptive Monte Carlo outcomes (up to 1M paths) must stay above it
+     */
+    static final int MAX_RETAINED_LENGTH = 1 << 16;
+
+    private static final ThreadLocal<ScratchArena> CURRENT = ThreadLocal.withInitial(ScratchArena::new);
+
+    private final double[][] doubles = new double[SLOTS][];
+
+    private ScratchArena() {
+    }
+
+    /**
+     * The calling thread's arena
+     */
+    public static ScratchArena current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * A buffer of at least minLength doubles in the given slot
+     * The same array comes back on the next call with the same slot and a length
+     * it already covers; contents are whatever the previous user left
+     */
+    public double[] doubles(int slot, int minLength) {
+        if (slot < 0 || slot >= SLOTS) {
+            throw new IllegalArgumentException("Scratch slot " + slot + " outside 0.." + (SLOTS - 1));
+        }
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Negative scratch length: " + minLength);
+        }
+        double[] buffer = doubles[slot];
+        if (buffer != null && buffer.length >= minLength) {
+            return buffer;
+        }
+        buffer = new double[minLength];
+        if (minLength <= MAX_RETAINED_LENGTH) {
+            doubles[slot] = buffer;
+        }
+        return buffer;
+    }
+}
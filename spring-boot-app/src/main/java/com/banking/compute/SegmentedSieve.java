@@ -0,0 +1,281 @@
+package com.banking.compute;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Segmented Sieve of Eratosthenes over odd numbers only
+ * Each bit of a segment represents one odd candidate, so a 32 KB segment
+ * covers ~512K integers and stays resident in L1/L2 while it is crossed off
+ * Base primes up to sqrt(limit) come from the shared {@link PrimeTable}
+ */
+public final class SegmentedSieve {
+
+    /** Segment size in bytes - sized to fit the L1/L2 data cache */
+    public static final int SEGMENT_BYTES = 32 * 1024;
+
+    /** Number of odd candidates held in one segment */
+    public static final int SEGMENT_BITS = SEGMENT_BYTES * 8;
+
+    /** Width of the integer range covered by one segment */
+    public static final long SEGMENT_SPAN = 2L * SEGMENT_BITS;
+
+    /** Upper bound accepted by the sieve (base primes stay below 10^7) */
+    public static final long MAX_LIMIT = 100_000_000_000_000L;
+
+    private SegmentedSieve() {
+    }
+
+    /**
+     * Invokes the action for every prime in [from, to), in ascending order
+     */
+    public static void forEachPrime(long from, long to, LongConsumer action) {
+        checkLimit(to);
+        if (to <= 2 || from >= to) {
+            return;
+        }
+        forEachPrime(from, to, action, basePrimesFor(to));
+    }
+
+    private static void forEachPrime(long from, long to, LongConsumer action, long[] primes) {
+        if (from <= 2) {
+            action.accept(2);
+        }
+
+        long firstOdd = firstOddAtLeast(Math.max(from, 3));
+        if (firstOdd >= to) {
+            return;
+        }
+
+        long[] segment = new long[segmentWords(to - firstOdd)];
+
+        for (long segStart = firstOdd; segStart < to; segStart += SEGMENT_SPAN) {
+            int bits = (int) Math.min(SEGMENT_BITS, (to - segStart + 1) / 2);
+            int words = (bits + 63) >>> 6;
+            sieveSegment(segment, words, segStart, bits, primes);
+
+            for (int w = 0; w < words; w++) {
+                long candidates = ~segment[w];
+                if (w == words - 1) {
+                    candidates &= tailMask(bits);
+                }
+                while (candidates != 0) {
+                    int bit = Long.numberOfTrailingZeros(candidates);
+                    action.accept(segStart + 2L * ((w << 6) + bit));
+                    candidates &= candidates - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns every prime in [from, to) as a primitive array
+     */
+    public static long[] primesInRange(long from, long to) {
+        return collect(from, to).toArray();
+    }
+
+    /**
+     * Variant used by {@link PrimeTable} while it grows: the caller supplies
+     * a sorted array that already holds every prime up to sqrt(to)
+     */
+    static long[] primesInRange(long from, long to, long[] basePrimes) {
+        return collect(from, to, basePrimes).toArray();
+    }
+
+    /**
+     * Collects every prime in [from, to) into a buffer sized from an upper
+     * bound on the count, filled in place and returned without trimming
+     */
+    public static PrimeArray collect(long from, long to) {
+        checkLimit(to);
+        if (to <= 2 || from >= to) {
+            return PrimeArray.EMPTY;
+        }
+        return collect(from, to, basePrimesFor(to));
+    }
+
+    private static PrimeArray collect(long from, long to, long[] basePrimes) {
+        if (to <= 2 || from >= to) {
+            return PrimeArray.EMPTY;
+        }
+        long[] primes = new long[estimateCount(from, to)];
+        int[] size = {0};
+        forEachPrime(from, to, p -> {
+            if (size[0] == primes.length) {
+                throw new IllegalStateException("Prime count estimate exceeded for [" + from + ", " + to + ")");
+            }
+            primes[size[0]++] = p;
+        }, basePrimes);
+        return new PrimeArray(primes, size[0]);
+    }
+
+    /**
+     * Sieves [from, to) one segment-wide window at a time and hands each
+     * window's primes to the consumer before sieving the next one
+     * The segment and prime buffer are reused, so memory stays constant
+     * however wide the range is; the buffer is only valid during the call
+     */
+    public static <E extends Exception> void forEachWindow(long from, long to, WindowConsumer<E> consumer) throws E {
+        checkLimit(to);
+        from = Math.max(from, 0);
+        if (from >= to) {
+            return;
+        }
+        long[] basePrimes = basePrimesFor(Math.max(to, 3));
+        long[] segment = new long[segmentWords(Math.min(to - from, SEGMENT_SPAN))];
+        long[] buffer = new long[estimateCount(0, SEGMENT_SPAN) + 1];
+
+        for (long windowStart = from; windowStart < to; ) {
+            long windowEnd = Math.min(to, windowStart + SEGMENT_SPAN);
+            int count = 0;
+            if (windowStart <= 2 && windowEnd > 2) {
+                buffer[count++] = 2;
+            }
+
+            long firstOdd = firstOddAtLeast(Math.max(windowStart, 3));
+            if (firstOdd < windowEnd) {
+                int bits = (int) ((windowEnd - firstOdd + 1) / 2);
+                int words = (bits + 63) >>> 6;
+                sieveSegment(segment, words, firstOdd, bits, basePrimes);
+
+                for (int w = 0; w < words; w++) {
+                    long candidates = ~segment[w];
+                    if (w == words - 1) {
+                        candidates &= tailMask(bits);
+                    }
+                    while (candidates != 0) {
+                        int bit = Long.numberOfTrailingZeros(candidates);
+                        buffer[count++] = firstOdd + 2L * ((w << 6) + bit);
+                        candidates &= candidates - 1;
+                    }
+                }
+            }
+
+            consumer.accept(windowStart, windowEnd, buffer, count);
+            windowStart = windowEnd;
+        }
+    }
+
+    /**
+     * Receives the primes of one window: buffer[0, count) ascending, all in [windowStart, windowEnd)
+     */
+    @FunctionalInterface
+    public interface WindowConsumer<E extends Exception> {
+        void accept(long windowStart, long windowEnd, long[] buffer, int count) throws E;
+    }
+
+    /**
+     * Counts the primes in [from, to) without materialising them
+     */
+    public static long countPrimes(long from, long to) {
+        checkLimit(to);
+        if (to <= 2 || from >= to) {
+            return 0;
+        }
+        long count = from <= 2 ? 1 : 0;
+
+        long firstOdd = firstOddAtLeast(Math.max(from, 3));
+        if (firstOdd >= to) {
+            return count;
+        }
+
+        long[] primes = basePrimesFor(to);
+        long[] segment = new long[segmentWords(to - firstOdd)];
+
+        for (long segStart = firstOdd; segStart < to; segStart += SEGMENT_SPAN) {
+            int bits = (int) Math.min(SEGMENT_BITS, (to - segStart + 1) / 2);
+            int words = (bits + 63) >>> 6;
+            sieveSegment(segment, words, segStart, bits, primes);
+
+            for (int w = 0; w < words - 1; w++) {
+                count += Long.bitCount(~segment[w]);
+            }
+            count += Long.bitCount(~segment[words - 1] & tailMask(bits));
+        }
+        return count;
+    }
+
+    /**
+     * Crosses off odd composites in the segment starting at the odd number segStart
+     * Bit i stands for segStart + 2i; a set bit means composite
+     */
+    private static void sieveSegment(long[] segment, int words, long segStart, int bits, long[] primes) {
+        Arrays.fill(segment, 0, words, 0L);
+        long segEnd = segStart + 2L * bits;
+
+        // primes[0] == 2 is skipped: even numbers are not represented
+        for (int i = 1; i < primes.length; i++) {
+            long p = primes[i];
+            long square = p * p;
+            if (square >= segEnd) {
+                break;
+            }
+            long first;
+            if (square >= segStart) {
+                first = square;
+            } else {
+                first = ((segStart + p - 1) / p) * p;
+                if ((first & 1) == 0) {
+                    first += p;
+                }
+            }
+            for (long idx = (first - segStart) >>> 1; idx < bits; idx += p) {
+                segment[(int) (idx >>> 6)] |= 1L << idx;
+            }
+        }
+    }
+
+    /**
+     * Base primes for sieving below to: a shared array holding every prime up to sqrt(to)
+     */
+    private static long[] basePrimesFor(long to) {
+        return PrimeTable.shared().primesBelow(isqrt(to - 1) + 1);
+    }
+
+    // Only the upper end needs a bound: below 0 nothing is prime, and from >= to is just an empty range
+    private static void checkLimit(long to) {
+        if (to > MAX_LIMIT) {
+            throw new IllegalArgumentException("Sieve limit " + to + " exceeds " + MAX_LIMIT);
+        }
+    }
+
+    private static int segmentWords(long span) {
+        long bits = Math.min(SEGMENT_BITS, (span + 1) / 2);
+        return (int) ((bits + 63) >>> 6);
+    }
+
+    private static long tailMask(int bits) {
+        int rem = bits & 63;
+        return rem == 0 ? -1L : (1L << rem) - 1;
+    }
+
+    private static long firstOddAtLeast(long n) {
+        return (n & 1) == 0 ? n + 1 : n;
+    }
+
+    /**
+     * Upper bound on pi(to) - pi(from) used to size result arrays
+     */
+    static int estimateCount(long from, long to) {
+        long width = Math.max(0, to - Math.max(from, 0));
+        if (width == 0) {
+            return 0;
+        }
+        // pi(x + w) - pi(x) <= 2w / ln(w) (Montgomery-Vaughan), bounded by the number of odd candidates
+        double bound = width < 64 ? width : 2.0 * width / Math.log(width) + 2;
+        long odds = width / 2 + 2;
+        return (int) Math.min(Math.min((long) bound, odds), Integer.MAX_VALUE - 8);
+    }
+
+    static long isqrt(long n) {
+        long r = (long) Math.sqrt((double) n);
+        while (r * r > n) {
+            r--;
+        }
+        while ((r + 1) * (r + 1) <= n) {
+            r++;
+        }
+        return r;
+    }
+}
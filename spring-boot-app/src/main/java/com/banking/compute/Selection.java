@@ -0,0 +1,109 @@
+package com.banking.compute;
+
+import java.util.Arrays;
+
+/**
+ * In-place order statistics on double[] ranges
+ * Quickselect with median-of-three pivots, expected O(n); a range that keeps
+ * partitioning badly is finished with a sort, so the worst case is O(n log n)
+ */
+public final class Selection {
+
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private Selection() {
+    }
+
+    /**
+     * Rearranges values[from, to) so that values[k] holds the element a full sort
+     * would put there, everything in [from, k) is <= it and everything in (k, to) is >= it
+     * Returns values[k]. Values must not be NaN
+     */
+    public static double select(double[] values, int from, int to, int k) {
+        if (from < 0 || to > values.length || k < from || k >= to) {
+            throw new IllegalArgumentException("Rank " + k + " outside [" + from + ", " + to + ")");
+        }
+        int lo = from;
+        int hi = to - 1;
+        // Each good partition at least quarters the range in expectation; give up well after that
+        int budget = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+
+        while (hi - lo >= INSERTION_THRESHOLD) {
+            if (budget-- == 0) {
+                Arrays.sort(values, lo, hi + 1);
+                return values[k];
+            }
+            int mid = (lo + hi) >>> 1;
+            // Median of three ends up at mid, with values[lo] <= pivot <= values[hi]
+            if (values[mid] < values[lo]) swap(values, lo, mid);
+            if (values[hi] < values[lo]) swap(values, lo, hi);
+            if (values[hi] < values[mid]) swap(values, mid, hi);
+            double pivot = values[mid];
+
+            // Hoare partition over (lo, hi); the sentinels at lo and hi stop both scans
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do i++; while (values[i] < pivot);
+                do j--; while (values[j] > pivot);
+                if (i >= j) {
+                    break;
+                }
+                swap(values, i, j);
+            }
+            // [lo, j] <= pivot <= [j + 1, hi]
+            if (k <= j) {
+                hi = j;
+            } else {
+                lo = j + 1;
+            }
+        }
+
+        for (int i = lo + 1; i <= hi; i++) {
+            double v = values[i];
+            int j = i - 1;
+            while (j >= lo && values[j] > v) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = v;
+        }
+        return values[k];
+    }
+
+    /**
+     * Values at several ranks of values[0, n) in one pass over shrinking ranges
+     * Ranks may come in any order and may repeat; out[i] receives the value at ranks[i]
+     */
+    public static void selectAll(double[] values, int n, int[] ranks, double[] out) {
+        // Highest rank first: everything below a selected rank is <= it, so the next search stops there
+        int[] order = new int[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            int j = i;
+            while (j > 0 && ranks[order[j - 1]] < ranks[i]) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        int bound = n;
+        int lastRank = -1;
+        double lastValue = Double.NaN;
+        for (int index : order) {
+            int rank = ranks[index];
+            if (rank != lastRank) {
+                lastValue = select(values, 0, bound, rank);
+                lastRank = rank;
+                bound = rank;
+            }
+            out[index] = lastValue;
+        }
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+}
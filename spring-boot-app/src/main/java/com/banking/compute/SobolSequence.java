@@ -0,0 +1,221 @@
+package com.banking.compute;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sobol low-discrepancy points in up to {@link #MAX_DIMENSIONS} dimensions
+ * Dimension 0 is van der Corput; every other dimension gets its own primitive
+ * polynomial over GF(2), found by search in order of degree, with odd initial
+ * direction numbers drawn from a fixed seed (Bratley-Fox recurrence). Points are
+ * produced in Gray-code order with 32 bits of resolution and randomised by a
+ * digital shift, so independently shifted cursors give unbiased replicates
+ */
+public final class SobolSequence {
+
+    public static final int MAX_DIMENSIONS = 1024;
+
+    private static final int BITS = 32;
+
+    private static final long DIRECTION_SEED = 0x5eed_50b0_1L;
+
+    private static final double TO_UNIT = 0x1.0p-32;
+
+    private static final ConcurrentHashMap<Integer, SobolSequence> CACHE = new ConcurrentHashMap<>();
+
+    /** Primitive polynomials with bit s (the x^s term) and bit 0 set, ascending degree */
+    private static volatile int[] primitivePolynomials;
+
+    private final int dimensions;
+
+    /** direction[d * BITS + j] = v_{j+1} of dimension d, left-aligned in 32 bits */
+    private final int[] direction;
+
+    private SobolSequence(int dimensions) {
+        this.dimensions = dimensions;
+        this.direction = new int[dimensions * BITS];
+
+        for (int j = 0; j < BITS; j++) {
+            direction[j] = 1 << (BITS - 1 - j);
+        }
+        int[] polynomials = polynomials(dimensions - 1);
+        SplittableRandom random = new SplittableRandom(DIRECTION_SEED);
+        for (int d = 1; d < dimensions; d++) {
+            int poly = polynomials[d - 1];
+            int s = 31 - Integer.numberOfLeadingZeros(poly);
+            int base = d * BITS;
+            // m_k odd and below 2^k for the first s direction numbers
+            for (int k = 1; k <= s && k <= BITS; k++) {
+                int m = (random.nextInt(1 << (k - 1)) << 1) | 1;
+                direction[base + k - 1] = m << (BITS - k);
+            }
+            for (int k = s + 1; k <= BITS; k++) {
+                int vks = direction[base + k - s - 1];
+                int v = vks ^ (vks >>> s);
+                for (int i = 1; i < s; i++) {
+                    if ((poly >>> (s - i) & 1) != 0) {
+                        v ^= direction[base + k - i - 1];
+                    }
+                }
+                direction[base + k - 1] = v;
+            }
+        }
+    }
+
+    /**
+     * The sequence for the given dimension count; built once and shared
+     */
+    public static SobolSequence of(int dimensions) {
+        if (dimensions < 1 || dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Sobol dimensions " + dimensions + " outside 1.." + MAX_DIMENSIONS);
+        }
+        return CACHE.computeIfAbsent(dimensions, SobolSequence::new);
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * A cursor at point index start, digitally shifted by shifts[d] in each dimension
+     */
+    public Cursor cursor(long start, int[] shifts) {
+        if (start < 0 || start >= (1L << BITS)) {
+            throw new IllegalArgumentException("Start index " + start + " outside the 2^32-point sequence");
+        }
+        if (shifts.length < dimensions) {
+            throw new IllegalArgumentException("Need " + dimensions + " shifts, got " + shifts.length);
+        }
+        return new Cursor(start, shifts.clone());
+    }
+
+    /**
+     * Walks the sequence one point at a time; not thread-safe
+     */
+    public final class Cursor {
+        private long index;
+        private final int[] point = new int[dimensions];
+        private final int[] shifts;
+
+        private Cursor(long start, int[] shifts) {
+            this.index = start;
+            this.shifts = shifts;
+            long gray = start ^ (start >>> 1);
+            for (int j = 0; gray != 0; j++, gray >>>= 1) {
+                if ((gray & 1) != 0) {
+                    for (int d = 0; d < dimensions; d++) {
+                        point[d] ^= direction[d * BITS + j];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Writes the current point as standard normals (inverse CDF of the shifted
+         * uniforms) and advances
+         */
+        public void nextNormals(double[] out) {
+            nextNormals(out, 0, 1);
+        }
+
+        /**
+         * As {@link #nextNormals(double[])}, writing dimension d to out[offset + d * stride]
+         */
+        public void nextNormals(double[] out, int offset, int stride) {
+            for (int d = 0; d < dimensions; d++) {
+                long bits = (point[d] ^ shifts[d]) & 0xffffffffL;
+                out[offset + d * stride] = NormalQuantile.inverse((bits + 0.5) * TO_UNIT);
+            }
+            index++;
+            if (index >= (1L << BITS)) {
+                throw new IllegalStateException("Sobol sequence exhausted");
+            }
+            int j = Long.numberOfTrailingZeros(index);
+            for (int d = 0; d < dimensions; d++) {
+                point[d] ^= direction[d * BITS + j];
+            }
+        }
+    }
+
+    private static int[] polynomials(int count) {
+        int[] known = primitivePolynomials;
+        if (known == null || known.length < count) {
+            known = findPrimitivePolynomials(Math.max(count, MAX_DIMENSIONS - 1));
+            primitivePolynomials = known;
+        }
+        return known;
+    }
+
+    /**
+     * The first count primitive polynomials of degree >= 1, by degree then value
+     */
+    static int[] findPrimitivePolynomials(int count) {
+        int[] found = new int[count];
+        int n = 0;
+        for (int degree = 1; n < count; degree++) {
+            for (int poly = (1 << degree) | 1; poly < (2 << degree) && n < count; poly += 2) {
+                if (isPrimitive(poly, degree)) {
+                    found[n++] = poly;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * x generates the multiplicative group of GF(2)[x] / poly, i.e. has order 2^degree - 1
+     */
+    static boolean isPrimitive(int poly, int degree) {
+        long order = (1L << degree) - 1;
+        if (powX(order, poly, degree) != 1) {
+            return false;
+        }
+        long remaining = order;
+        for (long q = 2; q * q <= remaining; q++) {
+            if (remaining % q == 0) {
+                if (powX(order / q, poly, degree) == 1) {
+                    return false;
+                }
+                while (remaining % q == 0) {
+                    remaining /= q;
+                }
+            }
+        }
+        return remaining == 1 || powX(order / remaining, poly, degree) != 1;
+    }
+
+    /**
+     * x^e mod poly over GF(2)
+     */
+    private static int powX(long e, int poly, int degree) {
+        int result = 1;
+        int base = reduce(2, poly, degree);
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                result = multiply(result, base, poly, degree);
+            }
+            base = multiply(base, base, poly, degree);
+            e >>>= 1;
+        }
+        return result;
+    }
+
+    private static int multiply(int a, int b, int poly, int degree) {
+        int result = 0;
+        while (b != 0) {
+            if ((b & 1) != 0) {
+                result ^= a;
+            }
+            b >>>= 1;
+            a <<= 1;
+            if ((a >>> degree & 1) != 0) {
+                a ^= poly;
+            }
+        }
+        return result;
+    }
+
+    private static int reduce(int a, int poly, int degree) {
+        return (a >>> degree & 1) != 0 ? a ^ poly : a;
+    }
+}
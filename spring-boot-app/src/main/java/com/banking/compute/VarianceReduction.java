@@ -0,0 +1,22 @@
+package com.banking.compute;
+
+/**
+ * Monte Carlo sampling technique for the risk walk
+ */
+public enum VarianceReduction {
+    /** Independent pseudo-random paths */
+    NONE,
+    /** Paths in mirrored pairs (z, -z); the pair average is the sampling unit */
+    ANTITHETIC,
+    /**
+     * Independent paths, with the mean corrected by the drift-only walk, whose
+     * expectation is known; VaR still comes from the raw outcomes
+     */
+    CONTROL_VARIATE,
+    /**
+     * Randomised quasi-Monte Carlo: each chunk walks the same Sobol points under its
+     * own digital shift, and the spread of the chunk means gives the error of the
+     * mean; the VaR confidence intervals assume independent outcomes and are nominal
+     */
+    SOBOL
+}
@@ -0,0 +1,67 @@
+package com.banking.compute;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels using the widest species the CPU supports (AVX2: 4 lanes, AVX-512: 8)
+ * Only instantiated through {@link InferenceKernels#select()}
+ * The multiply keeps {@link MatrixKernel}'s cache blocking and uses fused
+ * multiply-add inside each tile, and the tanh sum is reduced lane-wise,
+ * so results differ from the scalar kernels by rounding only: the tests hold
+ * both to a relative tolerance of 1e-12
+ */
+final class VectorInferenceKernels implements InferenceKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] c, int n) {
+        // Same tiling as the scalar kernel; only the j-loop inside each tile is vectorised
+        MatrixKernel.multiply(a, b, c, n, VectorInferenceKernels::multiplyTile);
+    }
+
+    private static void multiplyTile(double[] a, double[] b, double[] c, int n,
+                                     int ii, int iMax, int kk, int kMax, int jj, int jMax) {
+        int bound = jj + SPECIES.loopBound(jMax - jj);
+        for (int i = ii; i < iMax; i++) {
+            int rowA = i * n;
+            int rowC = i * n;
+            for (int k = kk; k < kMax; k++) {
+                double aik = a[rowA + k];
+                DoubleVector broadcast = DoubleVector.broadcast(SPECIES, aik);
+                int rowB = k * n;
+                int j = jj;
+                for (; j < bound; j += SPECIES.length()) {
+                    DoubleVector bv = DoubleVector.fromArray(SPECIES, b, rowB + j);
+                    DoubleVector cv = DoubleVector.fromArray(SPECIES, c, rowC + j);
+                    broadcast.fma(bv, cv).intoArray(c, rowC + j);
+                }
+                for (; j < jMax; j++) {
+                    c[rowC + j] += aik * b[rowB + j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public double tanhSum(double[] values, int length) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, values, i).lanewise(VectorOperators.TANH));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += Math.tanh(values[i]);
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.compute;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API block walk using the widest species the CPU supports (AVX2: 4 lanes, AVX-512: 8)
+ * Only instantiated through {@link PathBlockKernels#select()}
+ * Each group of lanes stays in registers for all steps. The arithmetic is the
+ * scalar walk's, without FMA, so the only difference is the lane-wise LOG1P,
+ * which may round differently from Math.log1p in the last place
+ */
+final class VectorPathBlockKernels implements PathBlockKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void walk(PathModel model, double[] balances, double[] draws, int width, double[] controls) {
+        int bound = SPECIES.loopBound(width);
+        int lane = 0;
+        for (; lane < bound; lane += SPECIES.length()) {
+            DoubleVector balance = DoubleVector.fromArray(SPECIES, balances, lane);
+            for (int step = 0, row = 0; step < model.steps; step++, row += width) {
+                DoubleVector change = DoubleVector.fromArray(SPECIES, draws, row + lane)
+                    .mul(model.volatility[step])
+                    .add(model.drift[step]);
+                balance = balance.mul(change.add(1.0));
+                balance = balance.add(balance.abs().lanewise(VectorOperators.LOG1P).mul(model.reversion[step]));
+            }
+            balance.intoArray(balances, lane);
+
+            if (controls != null) {
+                DoubleVector control = DoubleVector.fromArray(SPECIES, controls, lane);
+                for (int step = 0, row = 0; step < model.steps; step++, row += width) {
+                    control = control.mul(DoubleVector.fromArray(SPECIES, draws, row + lane)
+                        .mul(model.volatility[step])
+                        .add(1.0)
+                        .add(model.drift[step]));
+                }
+                control.intoArray(controls, lane);
+            }
+        }
+        ScalarPathBlockKernels.walkLanes(model, balances, draws, width, controls, lane, width);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}
@@ -0,0 +1,22 @@
+package com.banking.compute;
+
+/**
+ * Detects whether the incubating Vector API can be used in this JVM
+ * Enable it with --add-modules jdk.incubator.vector; set
+ * -Dcompute.vector.enabled=false to force the scalar kernels
+ */
+public final class VectorSupport {
+
+    private static final String MODULE = "jdk.incubator.vector";
+
+    private static final boolean AVAILABLE =
+        Boolean.parseBoolean(System.getProperty("compute.vector.enabled", "true"))
+            && ModuleLayer.boot().findModule(MODULE).isPresent();
+
+    private VectorSupport() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+}
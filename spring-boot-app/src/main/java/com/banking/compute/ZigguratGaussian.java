@@ -0,0 +1,114 @@
+package com.banking.compute;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Standard normal sampler using the 128-layer ziggurat (Marsaglia-Tsang, in
+ * Doornik's ZIGNOR form)
+ * About 98% of draws cost one nextLong, a table lookup and a multiply; only
+ * layer edges and the tail fall back to exp/log. Stateless and thread-safe -
+ * the caller supplies its own per-thread generator, so there is no shared CAS
+ */
+public final class ZigguratGaussian {
+
+    private static final int LAYERS = 128;
+
+    /** Start of the tail and the area of each layer */
+    private static final double R = 3.442619855899;
+    private static final double V = 9.91256303526217e-3;
+
+    private static final double TO_UNIT = 0x1.0p-53;
+
+    /** Layer edges, x[0] > x[1] = R > ... > x[128] = 0 */
+    private static final double[] X = new double[LAYERS + 1];
+
+    /** x[i + 1] / x[i]: below this |u| the point is inside the layer's rectangle core */
+    private static final double[] RATIO = new double[LAYERS];
+
+    /** The fast path works on u scaled to a 53-bit signed integer m = u * 2^52 */
+    private static final double TO_SIGNED_UNIT = 0x1.0p-52;
+    private static final long[] CORE = new long[LAYERS];
+    private static final double[] SCALED_X = new double[LAYERS];
+
+    static {
+        double f = Math.exp(-0.5 * R * R);
+        X[0] = V / f;
+        X[1] = R;
+        X[LAYERS] = 0;
+        for (int i = 2; i < LAYERS; i++) {
+            X[i] = Math.sqrt(-2 * Math.log(V / X[i - 1] + f));
+            f = Math.exp(-0.5 * X[i] * X[i]);
+        }
+        for (int i = 0; i < LAYERS; i++) {
+            RATIO[i] = X[i + 1] / X[i];
+            CORE[i] = (long) (RATIO[i] * 0x1.0p52);
+            SCALED_X[i] = X[i] * TO_SIGNED_UNIT;
+        }
+    }
+
+    private ZigguratGaussian() {
+    }
+
+    /**
+     * One N(0, 1) draw from random
+     */
+    public static double next(RandomGenerator random) {
+        long bits = random.nextLong();
+        // Low 7 bits pick the layer, the top 53 are a signed m with u = m / 2^52 in [-1, 1)
+        int i = (int) bits & (LAYERS - 1);
+        long m = bits >> 11;
+        if (Math.abs(m) < CORE[i]) {
+            return m * SCALED_X[i];
+        }
+        return edge(random, i, m * TO_SIGNED_UNIT);
+    }
+
+    /**
+     * Rejection step for a point outside the layer's core; kept out of next() so
+     * the fast path stays small enough to inline
+     */
+    private static double edge(RandomGenerator random, int i, double u) {
+        while (true) {
+            if (Math.abs(u) < RATIO[i]) {
+                return u * X[i];
+            }
+            if (i == 0) {
+                return tail(random, u < 0);
+            }
+            double x = u * X[i];
+            double x2 = x * x;
+            double f0 = Math.exp(-0.5 * (X[i] * X[i] - x2));
+            double f1 = Math.exp(-0.5 * (X[i + 1] * X[i + 1] - x2));
+            if (f1 + uniform(random) * (f0 - f1) < 1.0) {
+                return x;
+            }
+            long bits = random.nextLong();
+            i = (int) bits & (LAYERS - 1);
+            u = (bits >> 11) * TO_SIGNED_UNIT;
+        }
+    }
+
+    /**
+     * Marsaglia's exact sampler for |z| > R
+     */
+    private static double tail(RandomGenerator random, boolean negative) {
+        double x;
+        double y;
+        do {
+            x = Math.log(uniformOpen(random)) / R;
+            y = Math.log(uniformOpen(random));
+        } while (-2 * y < x * x);
+        return negative ? x - R : R - x;
+    }
+
+    private static double uniform(RandomGenerator random) {
+        return (random.nextLong() >>> 11) * TO_UNIT;
+    }
+
+    /**
+     * Uniform in (0, 1), safe to take the log of
+     */
+    private static double uniformOpen(RandomGenerator random) {
+        return ((random.nextLong() >>> 11) + 0.5) * TO_UNIT;
+    }
+}
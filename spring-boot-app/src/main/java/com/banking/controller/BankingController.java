@@ -2,13 +2,22 @@ package com.banking.controller;
 
 import com.banking.model.Account;
 import com.banking.model.Transaction;
+import com.banking.compute.SegmentedSieve;
+import com.banking.compute.PathBackend;
+import com.banking.compute.VarianceReduction;
 import com.banking.service.BankingService;
+import com.banking.service.ComputationalService;
+import com.banking.service.RiskAssessmentCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +31,9 @@ public class BankingController {
     @Autowired
     private com.banking.service.ComputationalService computationalService;
     
+    @Autowired
+    private RiskAssessmentCache riskAssessmentCache;
+    
     @PostMapping("/accounts")
     public ResponseEntity<Account> createAccount(@RequestBody Map<String, Object> request) {
         String accountName = (String) request.get("accountName");
@@ -71,16 +83,43 @@ public class BankingController {
     }
     
     @GetMapping("/accounts/{accountId}/risk-analysis")
-    public ResponseEntity<?> performRiskAnalysis(@PathVariable Long accountId) {
+    public ResponseEntity<?> performRiskAnalysis(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) Long seed,
+            @RequestParam(required = false) Double precision,
+            @RequestParam(defaultValue = "200000") int maxPaths,
+            @RequestParam(required = false) String technique,
+            @RequestParam(required = false) String backend) {
         Account account = bankingService.getAccount(accountId)
             .orElseThrow(() -> new RuntimeException("Account not found"));
         
-        // Pure CPU: Monte Carlo simulation with 15,000 iterations
-        com.banking.service.ComputationalService.RiskAssessment risk = 
-            computationalService.calculateRiskAssessment(
-                accountId, 
-                account.getBalance().doubleValue()
-            );
+        // Same account, balance, seed and precision always give the same figures
+        ComputationalService.RiskOptions options;
+        try {
+            options = ComputationalService.RiskOptions.DEFAULT;
+            if (seed != null) {
+                options = options.withSeed(seed);
+            }
+            if (technique != null) {
+                // NONE, ANTITHETIC, CONTROL_VARIATE or SOBOL; defaults to risk.monte-carlo.variance-reduction
+                options = options.withVarianceReduction(VarianceReduction.valueOf(technique.trim().toUpperCase()));
+            }
+            if (backend != null) {
+                // SCALAR or BLOCK; the same paths either way, defaults to risk.monte-carlo.backend
+                options = options.withBackend(PathBackend.valueOf(backend.trim().toUpperCase()));
+            }
+            if (precision != null) {
+                // Stop as soon as the confidence intervals are within precision * balance
+                options = options.adaptive(precision, maxPaths);
+            }
+            // Checked against the configured path model too, so e.g. Sobol over too many steps is a 400
+            computationalService.checkRiskOptions(options);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+        
+        // Pure CPU: Monte Carlo simulation (15,000 paths, or adaptive batches), cached per balance version
+        ComputationalService.RiskAssessment risk = riskAssessmentCache.get(account, options);
         
         return ResponseEntity.ok(Map.of(
             "accountId", accountId,
@@ -88,6 +127,8 @@ public class BankingController {
             "standardDeviation", risk.standardDeviation,
             "var95", risk.var95,
             "var99", risk.var99,
+            "pathsUsed", risk.pathsUsed,
+            "achievedError", risk.achievedError,
             "computationTimeMs", risk.computationTimeNanos / 1_000_000.0
         ));
     }
@@ -136,21 +177,57 @@ public class BankingController {
     
     @GetMapping("/accounts/{accountId}/distributed-prime-search")
     public ResponseEntity<?> distributedPrimeSearch(@PathVariable Long accountId,
-                                                     @RequestParam(defaultValue = "100000") int rangeSize) {
+                                                     @RequestParam(defaultValue = "100000") int rangeSize,
+                                                     @RequestParam(defaultValue = "false") boolean includePrimes) {
         if (!bankingService.getAccount(accountId).isPresent()) {
             return ResponseEntity.notFound().build();
         }
         
-        // MULTI-THREADED: Distributed prime search (12 competing threads)
-        com.banking.service.ComputationalService.DistributedPrimeResult result = 
-            computationalService.distributedPrimeSearch(accountId, rangeSize);
+        // Count-only unless the caller asks for the primes themselves
+        com.banking.service.ComputationalService.DistributedPrimeResult result = includePrimes
+            ? computationalService.distributedPrimeSearch(accountId, rangeSize)
+            : computationalService.distributedPrimeCount(accountId, rangeSize);
         
-        return ResponseEntity.ok(Map.of(
-            "accountId", accountId,
-            "rangeSize", rangeSize,
-            "totalPrimes", result.totalPrimes,
-            "computationTimeMs", result.computationTimeNanos / 1_000_000.0,
-            "primesPerSecond", (result.totalPrimes / (result.computationTimeNanos / 1_000_000_000.0))
-        ));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("accountId", accountId);
+        response.put("rangeSize", rangeSize);
+        response.put("totalPrimes", result.totalPrimes);
+        response.put("computationTimeMs", result.computationTimeNanos / 1_000_000.0);
+        response.put("primesPerSecond", (result.totalPrimes / (result.computationTimeNanos / 1_000_000_000.0)));
+        if (includePrimes) {
+            response.put("primes", result.primes.toArray());
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/accounts/{accountId}/distributed-prime-search/stream")
+    public ResponseEntity<StreamingResponseBody> streamPrimeSearch(@PathVariable Long accountId,
+                                                                   @RequestParam(required = false) Long start,
+                                                                   @RequestParam(defaultValue = "100000") long rangeSize) {
+        if (!bankingService.getAccount(accountId).isPresent()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        long from = start != null ? start : accountId * 1000;
+        if (from < 0 || rangeSize < 0 || rangeSize > SegmentedSieve.MAX_LIMIT - from) {
+            String error = "{\"error\":\"Range must lie within [0, " + SegmentedSieve.MAX_LIMIT + ")\"}";
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(error.getBytes(StandardCharsets.UTF_8)));
+        }
+        long to = from + rangeSize;
+        
+        // Constant memory: one sieve window in flight, written out as NDJSON before the next is sieved.
+        // Runs until the range is done, the client disconnects or spring.mvc.async.request-timeout passes
+        StreamingResponseBody body = out -> {
+            long startTime = System.nanoTime();
+            NdjsonPrimeWriter writer = new NdjsonPrimeWriter(out);
+            computationalService.streamPrimeSearch(from, to, writer);
+            writer.finish(System.nanoTime() - startTime);
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 }
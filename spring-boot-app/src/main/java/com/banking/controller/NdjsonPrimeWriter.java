@@ -0,0 +1,110 @@
+package com.banking.controller;
+
+import com.banking.compute.SegmentedSieve;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes sieve windows as newline-delimited JSON, one line per window
+ * Numbers are encoded straight into a reusable byte buffer and each window
+ * is flushed so the client sees it as soon as it is sieved.
+ * Throwing from accept is what stops the sieve: a client that went away fails
+ * the flush, and a request that timed out interrupts the streaming thread
+ */
+class NdjsonPrimeWriter implements SegmentedSieve.WindowConsumer<IOException> {
+
+    private static final byte[] FROM = bytes("{\"from\":");
+    private static final byte[] TO = bytes(",\"to\":");
+    private static final byte[] COUNT = bytes(",\"count\":");
+    private static final byte[] PRIMES = bytes(",\"primes\":[");
+    private static final byte[] WINDOW_END = bytes("]}\n");
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[64 * 1024];
+    private final byte[] digits = new byte[20];
+    private int position;
+
+    private long totalPrimes;
+    private int windows;
+
+    NdjsonPrimeWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(long windowStart, long windowEnd, long[] primes, int count) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Prime stream cancelled after " + windows + " windows");
+        }
+        write(FROM);
+        writeLong(windowStart);
+        write(TO);
+        writeLong(windowEnd);
+        write(COUNT);
+        writeLong(count);
+        write(PRIMES);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeLong(primes[i]);
+        }
+        write(WINDOW_END);
+        flush();
+
+        totalPrimes += count;
+        windows++;
+    }
+
+    /**
+     * Final summary line after the last window
+     */
+    void finish(long computationTimeNanos) throws IOException {
+        write(bytes("{\"totalPrimes\":" + totalPrimes
+            + ",\"windows\":" + windows
+            + ",\"computationTimeMs\":" + computationTimeNanos / 1_000_000.0 + "}\n"));
+        flush();
+    }
+
+    private void flush() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+        out.flush();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value < 0) {
+            writeByte('-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        while (n > 0) {
+            writeByte(digits[--n]);
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -18,6 +18,9 @@ public class Account {
     
     private BigDecimal balance;
     
+    // Bumped on every balance change; cached risk assessments are keyed by it
+    private long balanceVersion;
+    
     private LocalDateTime createdAt;
     
     @PrePersist
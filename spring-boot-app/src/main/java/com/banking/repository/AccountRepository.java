@@ -2,8 +2,30 @@ package com.banking.repository;
 
 import com.banking.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    
+    /**
+     * Takes amount off the balance only if it covers it, in one statement
+     * Returns the number of rows changed: 0 means missing account or insufficient funds
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.balanceVersion = a.balanceVersion + 1 "
+        + "WHERE a.accountId = :accountId AND a.balance >= :amount")
+    int debit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+    
+    /**
+     * Adds amount to the balance; returns 0 if the account does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.balanceVersion = a.balanceVersion + 1 "
+        + "WHERE a.accountId = :accountId")
+    int credit(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
 }
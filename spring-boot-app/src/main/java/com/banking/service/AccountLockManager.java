@@ -0,0 +1,109 @@
+package com.banking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-JVM striped locks over account ids
+ * Each account maps to one of a fixed, power-of-two number of stripes. A
+ * transfer takes the stripes of both accounts, lower stripe index first (once
+ * if they share a stripe), so transfers on disjoint stripes run in parallel,
+ * transfers sharing an account queue here instead of on database row locks,
+ * and no two transfers can wait on each other in a cycle. Acquisitions that
+ * find their stripe held are counted per stripe in banking.account.lock.contended
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Counter[] contended;
+    private final Timer waitTimer;
+    private final long timeoutNanos;
+
+    public AccountLockManager(@Value("${banking.transfer.lock-stripes:64}") int stripeCount,
+                              @Value("${banking.transfer.lock-timeout:PT5S}") Duration timeout,
+                              MeterRegistry meterRegistry) {
+        if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Lock stripes must be a positive power of two: " + stripeCount);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Lock timeout must be positive: " + timeout);
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        this.contended = new Counter[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+            contended[i] = Counter.builder("banking.account.lock.contended")
+                .tag("stripe", Integer.toString(i))
+                .register(meterRegistry);
+        }
+        this.waitTimer = Timer.builder("banking.account.lock.wait").register(meterRegistry);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Runs action while holding the stripes of both accounts
+     * Throws if either stripe can't be had within the configured timeout
+     */
+    public <T> T withAccountLocks(Long firstAccountId, Long secondAccountId, Supplier<T> action) {
+        int a = stripeOf(firstAccountId);
+        int b = stripeOf(secondAccountId);
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+
+        acquire(low);
+        try {
+            if (high != low) {
+                acquire(high);
+            }
+            try {
+                return action.get();
+            } finally {
+                if (high != low) {
+                    stripes[high].unlock();
+                }
+            }
+        } finally {
+            stripes[low].unlock();
+        }
+    }
+
+    int stripeOf(Long accountId) {
+        // Spread sequential ids so neighbouring accounts don't cluster by low bits alone
+        long h = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripes.length - 1);
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private void acquire(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        if (lock.tryLock()) {
+            return;
+        }
+        contended[stripe].increment();
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for account lock", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new RuntimeException("Timed out waiting for account lock");
+        }
+    }
+}
@@ -5,13 +5,17 @@ import com.banking.model.Transaction;
 import com.banking.repository.AccountRepository;
 import com.banking.repository.TransactionRepository;
 import com.banking.kafka.KafkaProducerService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class BankingService {
@@ -28,11 +32,36 @@ public class BankingService {
     @Autowired
     private ComputationalService computationalService;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private AccountLockManager accountLockManager;
+    
+    // Transfer stages, used as the stage tag of banking.transfer.rejected
+    static final String STAGE_INPUT = "input";
+    static final String STAGE_EXISTENCE = "existence";
+    static final String STAGE_BALANCE = "balance";
+    static final String STAGE_FRAUD = "fraud";
+    static final String STAGE_WRITE = "write";
+    
+    private static final int MAX_KNOWN_ACCOUNTS = 100_000;
+    
+    // Ids confirmed to exist, so the receiving account's existence check is usually free
+    private final Set<Long> knownAccountIds = ConcurrentHashMap.newKeySet();
+    
     public Account createAccount(String accountName, BigDecimal initialBalance) {
         Account account = new Account();
         account.setAccountName(accountName);
         account.setBalance(initialBalance);
         Account saved = accountRepository.save(account);
+        rememberAccount(saved.getAccountId());
         
         if (kafkaProducerService != null) {
             kafkaProducerService.sendMessage("account-created", 
@@ -52,45 +81,103 @@ public class BankingService {
             .orElse(BigDecimal.ZERO);
     }
     
-    @Transactional
+    /**
+     * Moves amount between two accounts through cheap-first stages
+     * Input, existence and balance checks each reject before anything more
+     * expensive runs, and every rejection is counted per stage in
+     * banking.transfer.rejected. Validation and fraud scoring run without a
+     * transaction, so no JDBC connection is held while the CPU-bound checks run;
+     * only the final write stage opens one, re-reads both balances and commits
+     */
     public Transaction transferMoney(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        // Stage 1: input - no I/O at all
+        if (fromAccountId == null || toAccountId == null || amount == null) {
+            throw reject(STAGE_INPUT, new IllegalArgumentException("Account ids and amount are required"));
+        }
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Amount must be positive");
+            throw reject(STAGE_INPUT, new IllegalArgumentException("Amount must be positive"));
         }
-        
-        // CPU-INTENSIVE: Fraud detection with cryptographic operations
-        ComputationalService.FraudCheckResult fraudCheck = 
-            computationalService.performFraudCheck(fromAccountId, amount);
-        
-        if (fraudCheck.suspicious) {
-            throw new RuntimeException("Transaction flagged as suspicious by fraud detection");
+        if (fromAccountId.equals(toAccountId)) {
+            throw reject(STAGE_INPUT, new IllegalArgumentException("Cannot transfer to the same account"));
         }
         
+        // Stage 2: existence and balance - primary-key reads, each its own short repository transaction
         Account fromAccount = accountRepository.findById(fromAccountId)
-            .orElseThrow(() -> new RuntimeException("From account not found"));
+            .orElseThrow(() -> reject(STAGE_EXISTENCE, new RuntimeException("From account not found")));
+        rememberAccount(fromAccountId);
         
-        Account toAccount = accountRepository.findById(toAccountId)
-            .orElseThrow(() -> new RuntimeException("To account not found"));
+        if (!isKnownAccount(toAccountId)) {
+            throw reject(STAGE_EXISTENCE, new RuntimeException("To account not found"));
+        }
         
         if (fromAccount.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient balance");
+            throw reject(STAGE_BALANCE, new RuntimeException("Insufficient balance"));
         }
         
-        // CPU-INTENSIVE: Risk assessment for larger transactions
-        if (amount.compareTo(BigDecimal.valueOf(1000)) > 0) {
-            ComputationalService.RiskAssessment risk = 
-                computationalService.calculateRiskAssessment(
-                    fromAccountId, 
-                    fromAccount.getBalance().doubleValue()
-                );
-            // Risk assessment adds CPU load but doesn't block transaction
+        // Stage 3: score - CPU-INTENSIVE fraud detection with cryptographic operations, no connection held
+        ComputationalService.FraudCheckResult fraudCheck = 
+            computationalService.performFraudCheck(fromAccountId, amount);
+        
+        if (fraudCheck.suspicious) {
+            throw reject(STAGE_FRAUD, new RuntimeException("Transaction flagged as suspicious by fraud detection"));
         }
         
-        fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
-        toAccount.setBalance(toAccount.getBalance().add(amount));
+        // Stage 4: write - the balance may have moved while we scored, so the debit checks it again;
+        // the account locks keep same-account writes queued in the JVM rather than on row locks
+        Transaction saved;
+        try {
+            // Held across the commit, so the next transfer on either account starts from committed balances
+            saved = accountLockManager.withAccountLocks(fromAccountId, toAccountId,
+                () -> transactionTemplate.execute(status -> writeTransfer(fromAccountId, toAccountId, amount)));
+        } catch (RuntimeException e) {
+            throw reject(STAGE_WRITE, e);
+        }
         
-        accountRepository.save(fromAccount);
-        accountRepository.save(toAccount);
+        if (kafkaProducerService != null) {
+            kafkaProducerService.sendMessage("transaction-completed",
+                String.format("Transfer of %s from %d to %d (fraud score: %.2f)", 
+                    amount, fromAccountId, toAccountId, fraudCheck.riskScore));
+        }
+        
+        return saved;
+    }
+    
+    private RuntimeException reject(String stage, RuntimeException cause) {
+        meterRegistry.counter("banking.transfer.rejected", "stage", stage).increment();
+        return cause;
+    }
+    
+    // Accounts are never deleted, so an id once seen stays valid; only hits skip the database
+    private boolean isKnownAccount(Long accountId) {
+        if (knownAccountIds.contains(accountId)) {
+            return true;
+        }
+        if (accountRepository.existsById(accountId)) {
+            rememberAccount(accountId);
+            return true;
+        }
+        return false;
+    }
+    
+    private void rememberAccount(Long accountId) {
+        if (knownAccountIds.size() < MAX_KNOWN_ACCOUNTS) {
+            knownAccountIds.add(accountId);
+        }
+    }
+    
+    /**
+     * Both balance changes as conditional UPDATEs, so concurrent transfers can't
+     * lose an update or overdraw; rows are touched in ascending id order so two
+     * opposite transfers never wait on each other's locks
+     */
+    private Transaction writeTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        if (fromAccountId < toAccountId) {
+            debit(fromAccountId, amount);
+            credit(toAccountId, amount);
+        } else {
+            credit(toAccountId, amount);
+            debit(fromAccountId, amount);
+        }
         
         Transaction transaction = new Transaction();
         transaction.setFromAccountId(fromAccountId);
@@ -99,15 +186,27 @@ public class BankingService {
         transaction.setTransactionType("TRANSFER");
         Transaction saved = transactionRepository.save(transaction);
         
-        if (kafkaProducerService != null) {
-            kafkaProducerService.sendMessage("transaction-completed",
-                String.format("Transfer of %s from %d to %d (fraud score: %.2f)", 
-                    amount, fromAccountId, toAccountId, fraudCheck.riskScore));
-        }
+        // Delivered to transactional listeners only if this transaction commits;
+        // larger transfers get their risk assessment there, off the request path (see RiskRefreshListener)
+        eventPublisher.publishEvent(new TransferCompletedEvent(fromAccountId, toAccountId, amount));
         
         return saved;
     }
     
+    // Throwing rolls back the whole write stage, including a credit already applied
+    private void debit(Long accountId, BigDecimal amount) {
+        if (accountRepository.debit(accountId, amount) == 0) {
+            throw new RuntimeException(accountRepository.existsById(accountId)
+                ? "Insufficient balance" : "From account not found");
+        }
+    }
+    
+    private void credit(Long accountId, BigDecimal amount) {
+        if (accountRepository.credit(accountId, amount) == 0) {
+            throw new RuntimeException("To account not found");
+        }
+    }
+    
     public List<Transaction> getTransactionHistory(Long accountId) {
         return transactionRepository.findByFromAccountIdOrToAccountId(accountId, accountId);
     }
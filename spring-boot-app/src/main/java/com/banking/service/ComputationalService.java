@@ -1,16 +1,35 @@
 package com.banking.service;
 
+import com.banking.compute.FingerprintBatcher;
+import com.banking.compute.InferenceKernels;
+import com.banking.compute.MillerRabin;
+import com.banking.compute.PathBackend;
+import com.banking.compute.PathChunk;
+import com.banking.compute.PathModel;
+import com.banking.compute.PrimeArray;
+import com.banking.compute.PrimeCounter;
+import com.banking.compute.PrimeSearchTask;
+import com.banking.compute.PrimeTable;
+import com.banking.compute.RandomStreams;
+import com.banking.compute.RunningCovariance;
+import com.banking.compute.RunningStats;
+import com.banking.compute.ScratchArena;
+import com.banking.compute.SegmentedSieve;
+import com.banking.compute.Selection;
+import com.banking.compute.SobolSequence;
+import com.banking.compute.VarianceReduction;
+import com.banking.compute.ZigguratGaussian;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.SplittableRandom;
 import java.util.concurrent.*;
 import java.util.stream.IntStream;
 
@@ -25,29 +44,66 @@ public class ComputationalService {
     @Value("${fraud.detection.threshold:150}")
     private double fraudDetectionThreshold;
     
+    @Value("${risk.monte-carlo.steps:100}")
+    private int monteCarloSteps;
+    
+    @Value("${risk.monte-carlo.drift:SINE}")
+    private PathModel.Drift monteCarloDrift;
+    
+    // Step coefficient tables for the configured random walk, built once at startup
+    private PathModel pathModel;
+    
+    // Default sampling technique for risk assessments (NONE, ANTITHETIC, CONTROL_VARIATE, SOBOL)
+    @Value("${risk.monte-carlo.variance-reduction:NONE}")
+    private VarianceReduction varianceReduction;
+    
+    // How chunks walk their paths: SCALAR one path at a time, BLOCK in vectorised lockstep blocks
+    @Value("${risk.monte-carlo.backend:SCALAR}")
+    private PathBackend pathBackend;
+    
+    // Default request seed: results are reproducible per (account, seed)
+    @Value("${compute.random.seed:0}")
+    private long defaultRandomSeed;
+    
     private final ExecutorService parallelExecutor = Executors.newFixedThreadPool(24);
     
+    // Sized to the machine so the prime search scales with cores instead of a fixed slice count
+    private final ForkJoinPool primeSearchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    
+    private final PrimeTable primeTable = PrimeTable.shared();
+    
+    private final InferenceKernels inferenceKernels = InferenceKernels.select();
+    
+    // Hash chains from concurrent fraud checks are fingerprinted together on one drain task
+    private final FingerprintBatcher fingerprintBatcher = new FingerprintBatcher(parallelExecutor, 64);
+    
     private static final int HASH_ITERATIONS = 2000;
     private static final int MONTE_CARLO_SIMULATIONS = 15000;
+    
+    // Adaptive Monte Carlo: paths per batch, hard cap on maxPaths, and the 95% normal quantile for the intervals
+    private static final int ADAPTIVE_BATCH_PATHS = 4000;
+    private static final int MONTE_CARLO_CHUNKS = 16;
+    private static final int MAX_ADAPTIVE_PATHS = 1 << 20;
+    private static final double CONFIDENCE_Z = 1.959963984540054;
     private static final int MATRIX_SIZE = 100;
     
+    @PostConstruct
+    void initPathModel() {
+        pathModel = PathModel.of(monteCarloSteps, monteCarloDrift);
+    }
+    
     /**
      * CPU-intensive fraud detection with PARALLEL cryptographic hashing and pattern analysis
-     * Spawns multiple competing threads to stress the scheduler
+     * Spawns multiple competing threads to stress the scheduler; the hash chains
+     * are batched across concurrent checks by the fingerprint batcher
      */
     public FraudCheckResult performFraudCheck(Long accountId, BigDecimal amount) {
         long startTime = System.nanoTime();
         
-        // Execute multiple CPU-intensive tasks in PARALLEL to create thread contention
-        List<Future<Double>> futures = new ArrayList<>();
-        
-        // Spawn 8 parallel hashing tasks (competing threads)
-        for (int i = 0; i < 8; i++) {
-            final int taskId = i;
-            futures.add(parallelExecutor.submit(() -> {
-                String hash = computeIterativeHash(accountId.toString() + taskId, HASH_ITERATIONS / 4);
-                return (double) hash.hashCode();
-            }));
+        // Queue 8 hash chains with the shared batcher instead of 8 separate tasks
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int taskId = 0; taskId < 8; taskId++) {
+            futures.add(fingerprintBatcher.submit(accountId, taskId, HASH_ITERATIONS / 4));
         }
         
         // Pattern matching with heavy computation (parallel)
@@ -68,7 +124,7 @@ public class ComputationalService {
         // Wait for all parallel tasks to complete (thread synchronization point)
         try {
             double hashSum = 0;
-            for (Future<Double> f : futures) {
+            for (CompletableFuture<Integer> f : futures) {
                 hashSum += f.get();
             }
             
@@ -88,37 +144,15 @@ public class ComputationalService {
         }
     }
     
-    /**
-     * Iterative SHA-256 hashing - pure CPU work
-     */
-    private String computeIterativeHash(String input, int iterations) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = input.getBytes();
-            
-            for (int i = 0; i < iterations; i++) {
-                hash = digest.digest(hash);
-                // Extra computation to prevent optimization
-                for (int j = 0; j < hash.length; j++) {
-                    hash[j] ^= (byte)(i % 256);
-                }
-            }
-            
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
-    }
-    
     /**
      * Heavy statistical computation with transcendental functions
      */
     private double calculateAnomalyScore(Long accountId, double amount) {
-        Random random = new Random(accountId);
+        SplittableRandom random = RandomStreams.forTask(accountId, defaultRandomSeed, RandomStreams.ANOMALY, 0);
         double score = 0.0;
         
         for (int i = 1; i <= 1000; i++) {
-            double x = random.nextGaussian() * amount;
+            double x = ZigguratGaussian.next(random) * amount;
             
             // Heavy floating point operations
             score += Math.sin(x / i) * Math.cos(x * i);
@@ -150,96 +184,251 @@ public class ComputationalService {
     
     /**
      * Simulate ML model inference with matrix multiplication
+     * Matrices are flat row-major arrays; multiply and tanh reduction run on the
+     * Vector API kernels when available, scalar kernels otherwise.
+     * The three matrices are borrowed from the worker's scratch arena
      */
-    private double simulateMLInference(Long accountId, double amount) {
+    double simulateMLInference(Long accountId, double amount) {
         int size = 50;
-        Random random = new Random(accountId);
-        
-        // Create random matrices
-        double[][] matrix1 = new double[size][size];
-        double[][] matrix2 = new double[size][size];
-        
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                matrix1[i][j] = random.nextGaussian() * amount / 1000;
-                matrix2[i][j] = random.nextGaussian();
-            }
+        int cells = size * size;
+        SplittableRandom random = RandomStreams.forTask(accountId, defaultRandomSeed, RandomStreams.ML_INFERENCE, 0);
+        
+        // Random matrices in reused per-thread buffers
+        ScratchArena arena = ScratchArena.current();
+        double[] matrix1 = arena.doubles(0, cells);
+        double[] matrix2 = arena.doubles(1, cells);
+        double[] result = arena.doubles(2, cells);
+        
+        for (int cell = 0; cell < cells; cell++) {
+            matrix1[cell] = ZigguratGaussian.next(random) * amount / 1000;
+            matrix2[cell] = ZigguratGaussian.next(random);
         }
         
         // Matrix multiplication (O(n³))
-        double[][] result = multiplyMatrices(matrix1, matrix2);
+        inferenceKernels.multiply(matrix1, matrix2, result, size);
         
         // Sum all elements with activation function
-        double sum = 0;
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                sum += Math.tanh(result[i][j]); // Activation function
-            }
-        }
+        double sum = inferenceKernels.tanhSum(result, cells);
         
         return Math.abs(sum);
     }
     
     /**
      * Monte Carlo simulation for risk assessment - PARALLEL execution
-     * Splits simulations across multiple threads to create scheduler contention
+     * Splits simulations across multiple threads to create scheduler contention.
+     * Paths follow the configured path model (risk.monte-carlo.steps / .drift) and
+     * every worker draws from its own seeded stream, so the result is reproducible
      */
     public RiskAssessment calculateRiskAssessment(Long accountId, double balance) {
+        return calculateRiskAssessment(accountId, balance, RiskOptions.DEFAULT);
+    }
+    
+    /**
+     * Risk assessment with an explicit request seed
+     */
+    public RiskAssessment calculateRiskAssessment(Long accountId, double balance, long requestSeed) {
+        return calculateRiskAssessment(accountId, balance, RiskOptions.DEFAULT.withSeed(requestSeed));
+    }
+    
+    /**
+     * Risk assessment over an explicit path model and request seed
+     */
+    public RiskAssessment calculateRiskAssessment(Long accountId, double balance, PathModel model, long requestSeed) {
+        return calculateRiskAssessment(accountId, balance, RiskOptions.DEFAULT.withPathModel(model).withSeed(requestSeed));
+    }
+    
+    /**
+     * Risk assessment with full control over the run
+     * Fixed mode simulates 15,000 paths. Adaptive mode simulates batches until the 95%
+     * confidence half-widths of the mean, VaR95 and VaR99 are all within the target
+     * precision (a fraction of the balance) or maxPaths is reached.
+     * The variance-reduction technique changes how paths are sampled and how the
+     * mean and its error are estimated (see {@link VarianceReduction}); the backend
+     * only changes how the same paths are walked (see {@link PathBackend}).
+     * Identical inputs give bit-identical results however the workers are scheduled
+     */
+    public RiskAssessment calculateRiskAssessment(Long accountId, double balance, RiskOptions options) {
         long startTime = System.nanoTime();
         
-        // Split simulations across parallel threads
-        int numThreads = 16;
-        int simsPerThread = MONTE_CARLO_SIMULATIONS / numThreads;
+        PathModel model = options.pathModel != null ? options.pathModel : pathModel;
+        long requestSeed = options.requestSeed != null ? options.requestSeed : defaultRandomSeed;
+        VarianceReduction technique = options.varianceReduction != null ? options.varianceReduction : varianceReduction;
+        PathBackend backend = options.backend != null ? options.backend : pathBackend;
+        checkRiskOptions(options);
+        boolean adaptive = options.isAdaptive();
+        int capacity = adaptive ? options.maxPaths : MONTE_CARLO_SIMULATIONS;
+        int batchPaths = adaptive ? Math.min(ADAPTIVE_BATCH_PATHS, capacity) : MONTE_CARLO_SIMULATIONS;
+        double scale = Math.max(Math.abs(balance), 1.0);
+        
+        // One chunk per worker for the whole run; later batches continue each chunk's stream
+        PathChunk[] chunks = new PathChunk[MONTE_CARLO_CHUNKS];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = new PathChunk(model, balance, technique, backend, accountId, requestSeed, c);
+        }
         
-        // Execute simulations in parallel using multiple competing threads
-        List<Future<double[]>> futures = IntStream.range(0, numThreads)
-            .mapToObj(threadId -> parallelExecutor.submit(() -> {
-                double[] results = new double[simsPerThread];
-                ThreadLocalRandom random = ThreadLocalRandom.current();
-                
-                for (int i = 0; i < simsPerThread; i++) {
-                    double simBalance = balance;
-                    
-                    // Random walk with complex calculations
-                    for (int step = 0; step < 100; step++) {
-                        double drift = Math.sin(step * 0.1) * 0.05;
-                        double volatility = Math.sqrt(step + 1) * 0.02;
-                        double randomChange = random.nextGaussian() * volatility + drift;
-                        
-                        simBalance *= (1 + randomChange);
-                        simBalance += Math.log1p(Math.abs(simBalance)) * Math.cos(step);
-                    }
-                    
-                    results[i] = simBalance;
+        // Every batch appends to one buffer; selection only reorders the filled prefix.
+        // Fixed runs reuse the thread's scratch buffer, adaptive runs are sized by the
+        // request (up to maxPaths) and get their own, so no thread keeps an outlier
+        double[] outcomes = adaptive ? new double[capacity] : ScratchArena.current().doubles(0, capacity);
+        int paths = 0;
+        while (true) {
+            int size = Math.min(batchPaths, capacity - paths);
+            simulatePaths(chunks, technique == VarianceReduction.ANTITHETIC ? 2 : 1, outcomes, paths, size);
+            paths += size;
+            
+            RunningStats outcomeStats = new RunningStats();
+            for (PathChunk chunk : chunks) {
+                outcomeStats.merge(chunk.outcomes());
+            }
+            MeanEstimate mean = estimateMean(chunks, technique, model.controlMean(balance));
+            TailEstimate tail = estimateTail(outcomes, paths, technique);
+            
+            double meanHalfWidth = CONFIDENCE_Z * mean.standardError;
+            double error = Math.max(meanHalfWidth, Math.max(tail.halfWidth95, tail.halfWidth99)) / scale;
+            if (!adaptive || paths >= capacity || error <= options.targetPrecision) {
+                long duration = System.nanoTime() - startTime;
+                return new RiskAssessment(mean.value, outcomeStats.standardDeviation(), tail.var95, tail.var99,
+                    paths, error, duration);
+            }
+        }
+    }
+    
+    /**
+     * Rejects options this service can't run with its configured defaults filled in,
+     * e.g. Sobol sampling over more steps than the direction numbers cover.
+     * Callers that turn IllegalArgumentException into a 400 should check before computing
+     */
+    public RiskOptions checkRiskOptions(RiskOptions options) {
+        PathModel model = options.pathModel != null ? options.pathModel : pathModel;
+        VarianceReduction technique = options.varianceReduction != null ? options.varianceReduction : varianceReduction;
+        if (technique == VarianceReduction.SOBOL && model.steps() > SobolSequence.MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Sobol sampling supports at most " + SobolSequence.MAX_DIMENSIONS
+                + " steps, the path model has " + model.steps());
+        }
+        return options;
+    }
+    
+    /**
+     * One batch of paths written to outcomes[offset, offset + count), one task per chunk
+     * Work is dealt out in units (antithetic pairs are one unit of two paths) so
+     * no pair is split; a leftover odd path goes to the last chunk
+     */
+    private void simulatePaths(PathChunk[] chunks, int unitPaths, double[] outcomes, int offset, int count) {
+        // Split simulations across parallel threads; the first few take one extra unit
+        int numThreads = chunks.length;
+        int units = count / unitPaths;
+        int unitsPerThread = units / numThreads;
+        int remainder = units % numThreads;
+        int leftover = count - units * unitPaths;
+        
+        // Execute simulations in parallel using multiple competing threads.
+        // The buffer is published to the workers by submit() and back to us by Future.get()
+        List<Future<?>> futures = IntStream.range(0, numThreads)
+            .<Future<?>>mapToObj(threadId -> parallelExecutor.submit(() -> {
+                int start = offset + (threadId * unitsPerThread + Math.min(threadId, remainder)) * unitPaths;
+                int paths = (unitsPerThread + (threadId < remainder ? 1 : 0)) * unitPaths;
+                if (threadId == numThreads - 1) {
+                    paths += leftover;
                 }
-                
-                return results;
+                chunks[threadId].run(outcomes, start, paths);
             }))
             .toList();
         
-        // Collect results from all parallel threads
-        double[] outcomes = new double[MONTE_CARLO_SIMULATIONS];
         try {
-            int offset = 0;
-            for (Future<double[]> future : futures) {
-                double[] threadResults = future.get();
-                System.arraycopy(threadResults, 0, outcomes, offset, threadResults.length);
-                offset += threadResults.length;
+            for (Future<?> future : futures) {
+                future.get();
             }
         } catch (InterruptedException | ExecutionException e) {
             throw new RuntimeException("Parallel Monte Carlo failed", e);
         }
+    }
+    
+    /**
+     * Mean of the outcomes and its standard error under the chosen technique
+     */
+    private static MeanEstimate estimateMean(PathChunk[] chunks, VarianceReduction technique, double controlMean) {
+        RunningCovariance units = new RunningCovariance();
+        for (PathChunk chunk : chunks) {
+            units.merge(chunk.units());
+        }
+        long n = units.count();
+        
+        switch (technique) {
+            case CONTROL_VARIATE: {
+                // Y - beta * (C - E[C]) with the sample-optimal beta; residual variance is var(Y) * (1 - rho^2)
+                double varianceC = units.varianceY();
+                double beta = varianceC > 0 ? units.covariance() / varianceC : 0;
+                double residual = units.varianceX() - beta * units.covariance();
+                double value = units.meanX() - beta * (units.meanY() - controlMean);
+                return new MeanEstimate(value, Math.sqrt(Math.max(residual, 0) / n));
+            }
+            case SOBOL: {
+                // Chunks are independent randomisations of the same points: use the spread of their means
+                RunningStats chunkMeans = new RunningStats();
+                for (PathChunk chunk : chunks) {
+                    chunkMeans.add(chunk.units().meanX());
+                }
+                long c = chunkMeans.count();
+                double sampleVariance = chunkMeans.variance() * c / (c - 1);
+                return new MeanEstimate(units.meanX(), Math.sqrt(sampleVariance / c));
+            }
+            default:
+                return new MeanEstimate(units.meanX(), Math.sqrt(units.varianceX() / n));
+        }
+    }
+    
+    private static class MeanEstimate {
+        final double value;
+        final double standardError;
         
-        // Statistical analysis
-        Arrays.sort(outcomes);
-        double mean = calculateMean(outcomes);
-        double stdDev = calculateStdDev(outcomes, mean);
-        double var95 = outcomes[(int)(outcomes.length * 0.05)];
-        double var99 = outcomes[(int)(outcomes.length * 0.01)];
-        
-        long duration = System.nanoTime() - startTime;
+        MeanEstimate(double value, double standardError) {
+            this.value = value;
+            this.standardError = standardError;
+        }
+    }
+    
+    /**
+     * VaR95/VaR99 by quickselect, plus distribution-free 95% confidence half-widths
+     * from the order statistics around each rank (binomial rank interval)
+     * The binomial interval assumes independent outcomes. Antithetic outcomes are
+     * independent pairs, and a pair's count below the quantile has at most twice
+     * the variance of two independent draws, so their rank interval is widened by
+     * that worst case. Sobol points are not independent within a chunk and no such
+     * bound exists: their VaR half-widths are nominal only
+     */
+    private TailEstimate estimateTail(double[] outcomes, int n, VarianceReduction technique) {
+        double designEffect = technique == VarianceReduction.ANTITHETIC ? 2 : 1;
+        int rank95 = (int)(n * 0.05);
+        int rank99 = (int)(n * 0.01);
+        int[] ranks = {
+            rank95, lowerRank(n, 0.05, designEffect), upperRank(n, 0.05, designEffect),
+            rank99, lowerRank(n, 0.01, designEffect), upperRank(n, 0.01, designEffect)
+        };
+        double[] values = new double[ranks.length];
+        Selection.selectAll(outcomes, n, ranks, values);
+        return new TailEstimate(values[0], values[3], (values[2] - values[1]) / 2, (values[5] - values[4]) / 2);
+    }
+    
+    private static int lowerRank(int n, double p, double designEffect) {
+        return (int) Math.max(0, Math.floor(n * p - CONFIDENCE_Z * Math.sqrt(designEffect * n * p * (1 - p))));
+    }
+    
+    private static int upperRank(int n, double p, double designEffect) {
+        return (int) Math.min(n - 1, Math.ceil(n * p + CONFIDENCE_Z * Math.sqrt(designEffect * n * p * (1 - p))));
+    }
+    
+    private static class TailEstimate {
+        final double var95;
+        final double var99;
+        final double halfWidth95;
+        final double halfWidth99;
         
-        return new RiskAssessment(mean, stdDev, var95, var99, duration);
+        TailEstimate(double var95, double var99, double halfWidth95, double halfWidth99) {
+            this.var95 = var95;
+            this.var99 = var99;
+            this.halfWidth95 = halfWidth95;
+            this.halfWidth99 = halfWidth99;
+        }
     }
     
     /**
@@ -259,18 +448,18 @@ public class ComputationalService {
                 double[] expectedReturns = new double[numAssets];
                 double[][] covarianceMatrix = new double[numAssets][numAssets];
                 
-                Random random = new Random(accountId + portfolioId);
+                SplittableRandom random = RandomStreams.forTask(accountId, defaultRandomSeed, RandomStreams.PORTFOLIO, portfolioId);
                 
                 // Initialize
                 for (int i = 0; i < numAssets; i++) {
                     weights[i] = 1.0 / numAssets;
-                    expectedReturns[i] = random.nextGaussian() * 0.15 + 0.08;
+                    expectedReturns[i] = ZigguratGaussian.next(random) * 0.15 + 0.08;
                 }
                 
                 // Generate covariance matrix
                 for (int i = 0; i < numAssets; i++) {
                     for (int j = 0; j < numAssets; j++) {
-                        covarianceMatrix[i][j] = random.nextGaussian() * 0.01;
+                        covarianceMatrix[i][j] = ZigguratGaussian.next(random) * 0.01;
                         if (i == j) covarianceMatrix[i][j] += 0.04;
                     }
                 }
@@ -340,121 +529,65 @@ public class ComputationalService {
     }
     
     /**
-     * Distributed prime number search across multiple threads
-     * Creates heavy thread contention and synchronization overhead
+     * Distributed prime number search on a work-stealing fork/join pool
+     * Slices inside the shared prime table are answered by binary search,
+     * anything beyond it is split adaptively and sieved in parallel
      */
     public DistributedPrimeResult distributedPrimeSearch(Long accountId, int rangeSize) {
         long startTime = System.nanoTime();
         
-        int numThreads = 12;
         long baseNum = accountId * 1000;
-        long rangePerThread = rangeSize / numThreads;
-        
-        // Parallel prime search across multiple competing threads
-        List<Future<List<Long>>> futures = IntStream.range(0, numThreads)
-            .mapToObj(threadId -> parallelExecutor.submit(() -> {
-                List<Long> primes = new ArrayList<>();
-                long start = baseNum + (threadId * rangePerThread);
-                long end = start + rangePerThread;
-                
-                for (long num = start; num < end; num++) {
-                    if (isPrime(num)) {
-                        primes.add(num);
-                    }
-                }
-                
-                return primes;
-            }))
-            .toList();
+        PrimeArray allPrimes = PrimeSearchTask.search(primeSearchPool, baseNum, baseNum + rangeSize);
         
-        // Collect all primes from parallel threads
-        try {
-            List<Long> allPrimes = new ArrayList<>();
-            for (Future<List<Long>> future : futures) {
-                allPrimes.addAll(future.get());
-            }
-            
-            long duration = System.nanoTime() - startTime;
-            return new DistributedPrimeResult(allPrimes.size(), allPrimes, duration);
-            
-        } catch (InterruptedException | ExecutionException e) {
-            throw new RuntimeException("Parallel prime search failed", e);
-        }
+        long duration = System.nanoTime() - startTime;
+        return new DistributedPrimeResult(allPrimes.size(), allPrimes, duration);
     }
     
     /**
-     * Prime number calculation for account validation (CPU-intensive)
+     * Count-only variant of the distributed prime search
+     * Covers the same range without materialising a single prime; the result's primes are empty
      */
-    public boolean isPrimeAccount(Long accountId) {
-        // Find nth prime where n = accountId % 10000
-        int n = (int)(accountId % 10000) + 1000;
-        return findNthPrime(n) % 2 == 1;
-    }
-    
-    private long findNthPrime(int n) {
-        int count = 0;
-        long num = 2;
-        
-        while (count < n) {
-            if (isPrime(num)) {
-                count++;
-            }
-            num++;
-        }
-        
-        return num - 1;
-    }
-    
-    private boolean isPrime(long n) {
-        if (n <= 1) return false;
-        if (n <= 3) return true;
-        if (n % 2 == 0 || n % 3 == 0) return false;
+    public DistributedPrimeResult distributedPrimeCount(Long accountId, int rangeSize) {
+        long startTime = System.nanoTime();
         
-        for (long i = 5; i * i <= n; i += 6) {
-            if (n % i == 0 || n % (i + 2) == 0) return false;
-        }
+        long baseNum = accountId * 1000;
+        long count = PrimeCounter.countPrimes(baseNum, baseNum + rangeSize);
         
-        return true;
+        long duration = System.nanoTime() - startTime;
+        return new DistributedPrimeResult((int) count, PrimeArray.EMPTY, duration);
     }
     
-    // Helper methods
-    
-    private double[][] multiplyMatrices(double[][] a, double[][] b) {
-        int n = a.length;
-        double[][] result = new double[n][n];
-        
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                for (int k = 0; k < n; k++) {
-                    result[i][j] += a[i][k] * b[k][j];
-                }
-            }
-        }
-        
-        return result;
+    /**
+     * Streaming prime search over an arbitrarily wide long range
+     * Primes are delivered window by window as they are sieved, with constant memory
+     */
+    public <E extends Exception> void streamPrimeSearch(long from, long to, SegmentedSieve.WindowConsumer<E> consumer) throws E {
+        SegmentedSieve.forEachWindow(from, to, consumer);
     }
     
-    private double calculateMean(double[] values) {
-        double sum = 0;
-        for (double v : values) sum += v;
-        return sum / values.length;
+    /**
+     * Prime number calculation for account validation (CPU-intensive)
+     */
+    public boolean isPrimeAccount(Long accountId) {
+        // Find nth prime where n = accountId % 10000
+        int n = (int)(accountId % 10000) + 1000;
+        return findNthPrime(n) % 2 == 1;
     }
     
-    private double calculateStdDev(double[] values, double mean) {
-        double sumSquaredDiff = 0;
-        for (double v : values) {
-            double diff = v - mean;
-            sumSquaredDiff += diff * diff;
-        }
-        return Math.sqrt(sumSquaredDiff / values.length);
+    private long findNthPrime(int n) {
+        return primeTable.nthPrime(n);
     }
     
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder hex = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            hex.append(String.format("%02x", b));
+    /**
+     * Single-number primality check
+     * Values the prime table already covers are a binary search; anything larger goes to
+     * deterministic Miller-Rabin rather than growing the table for one sparse lookup
+     */
+    public boolean isPrime(long n) {
+        if (n < primeTable.limit()) {
+            return primeTable.isPrime(n);
         }
-        return hex.toString();
+        return MillerRabin.isPrime(n);
     }
     
     // Result classes
@@ -480,17 +613,109 @@ public class ComputationalService {
         public final double standardDeviation;
         public final double var95;
         public final double var99;
+        public final int pathsUsed;
+        // Largest 95% confidence half-width of the mean, VaR95 and VaR99, as a fraction of the balance
+        // (the VaR half-widths are nominal under SOBOL sampling)
+        public final double achievedError;
         public final long computationTimeNanos;
         
-        public RiskAssessment(double expectedValue, double standardDeviation, double var95, double var99, long computationTimeNanos) {
+        public RiskAssessment(double expectedValue, double standardDeviation, double var95, double var99,
+                              int pathsUsed, double achievedError, long computationTimeNanos) {
             this.expectedValue = expectedValue;
             this.standardDeviation = standardDeviation;
             this.var95 = var95;
             this.var99 = var99;
+            this.pathsUsed = pathsUsed;
+            this.achievedError = achievedError;
             this.computationTimeNanos = computationTimeNanos;
         }
     }
     
+    /**
+     * How a risk assessment is run; unset fields fall back to the service configuration
+     */
+    public static class RiskOptions {
+        public static final RiskOptions DEFAULT = new RiskOptions(null, null, null, null, 0.0, MONTE_CARLO_SIMULATIONS);
+        
+        public final PathModel pathModel;
+        public final Long requestSeed;
+        public final VarianceReduction varianceReduction;
+        public final PathBackend backend;
+        // 0 runs the fixed 15,000 paths; otherwise the confidence half-width to reach, as a fraction of the balance
+        public final double targetPrecision;
+        public final int maxPaths;
+        
+        public RiskOptions(PathModel pathModel, Long requestSeed, VarianceReduction varianceReduction,
+                           PathBackend backend, double targetPrecision, int maxPaths) {
+            if (!(targetPrecision >= 0) || Double.isInfinite(targetPrecision)) {
+                throw new IllegalArgumentException("Target precision must be a non-negative number: " + targetPrecision);
+            }
+            if (maxPaths < 1 || maxPaths > MAX_ADAPTIVE_PATHS) {
+                throw new IllegalArgumentException("maxPaths " + maxPaths + " outside 1.." + MAX_ADAPTIVE_PATHS);
+            }
+            this.pathModel = pathModel;
+            this.requestSeed = requestSeed;
+            this.varianceReduction = varianceReduction;
+            this.backend = backend;
+            this.targetPrecision = targetPrecision;
+            this.maxPaths = maxPaths;
+        }
+        
+        public RiskOptions withPathModel(PathModel model) {
+            return new RiskOptions(model, requestSeed, varianceReduction, backend, targetPrecision, maxPaths);
+        }
+        
+        public RiskOptions withSeed(long seed) {
+            return new RiskOptions(pathModel, seed, varianceReduction, backend, targetPrecision, maxPaths);
+        }
+        
+        public RiskOptions withVarianceReduction(VarianceReduction technique) {
+            return new RiskOptions(pathModel, requestSeed, technique, backend, targetPrecision, maxPaths);
+        }
+        
+        public RiskOptions withBackend(PathBackend backend) {
+            return new RiskOptions(pathModel, requestSeed, varianceReduction, backend, targetPrecision, maxPaths);
+        }
+        
+        /**
+         * Batches until every confidence half-width is within precision * balance, up to maxPaths
+         */
+        public RiskOptions adaptive(double precision, int maxPaths) {
+            if (!(precision > 0)) {
+                throw new IllegalArgumentException("Adaptive precision must be positive: " + precision);
+            }
+            return new RiskOptions(pathModel, requestSeed, varianceReduction, backend, precision, maxPaths);
+        }
+        
+        public boolean isAdaptive() {
+            return targetPrecision > 0;
+        }
+        
+        // Value equality so options can key cached assessments; path models compare by identity
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RiskOptions)) {
+                return false;
+            }
+            RiskOptions other = (RiskOptions) o;
+            return pathModel == other.pathModel
+                && Objects.equals(requestSeed, other.requestSeed)
+                && varianceReduction == other.varianceReduction
+                && backend == other.backend
+                && Double.compare(targetPrecision, other.targetPrecision) == 0
+                && maxPaths == other.maxPaths;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(pathModel), requestSeed, varianceReduction, backend,
+                targetPrecision, maxPaths);
+        }
+    }
+    
     public static class PortfolioOptimization {
         public final double expectedReturn;
         public final double[] weights;
@@ -505,10 +730,10 @@ public class ComputationalService {
     
     public static class DistributedPrimeResult {
         public final int totalPrimes;
-        public final List<Long> primes;
+        public final PrimeArray primes;
         public final long computationTimeNanos;
         
-        public DistributedPrimeResult(int totalPrimes, List<Long> primes, long computationTimeNanos) {
+        public DistributedPrimeResult(int totalPrimes, PrimeArray primes, long computationTimeNanos) {
             this.totalPrimes = totalPrimes;
             this.primes = primes;
             this.computationTimeNanos = computationTimeNanos;
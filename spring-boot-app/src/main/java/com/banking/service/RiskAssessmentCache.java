@@ -0,0 +1,200 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of Monte Carlo risk assessments per (account, balance version, options)
+ * An assessment depends only on the account id, its balance and the options, and
+ * the balance version changes with every balance update, so a hit can never be
+ * stale. Entries are dropped when a transfer touching the account commits, when
+ * they outlive the TTL, and least-recently-used first once the cache is full.
+ * Misses compute outside the lock, so concurrent misses on one key may both
+ * compute; the assessments are deterministic, so either result is correct
+ */
+@Component
+public class RiskAssessmentCache {
+
+    @Autowired
+    private ComputationalService computationalService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${risk.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${risk.cache.ttl:PT10M}")
+    private Duration ttl;
+
+    // Access-ordered, so iteration starts at the least recently used entry; guarded by itself
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Keys of each account, so a transfer invalidates without scanning the whole cache
+    private final Map<Long, Set<Key>> keysByAccount = new HashMap<>();
+
+    private LongSupplier ticker = System::nanoTime;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter sizeEvictions;
+    private Counter expirations;
+    private Counter invalidations;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("risk.cache.max-entries must be positive: " + maxEntries);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("risk.cache.ttl must be positive: " + ttl);
+        }
+        hits = Counter.builder("risk.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("risk.cache.requests").tag("result", "miss").register(meterRegistry);
+        sizeEvictions = Counter.builder("risk.cache.evictions").tag("cause", "size").register(meterRegistry);
+        expirations = Counter.builder("risk.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        invalidations = Counter.builder("risk.cache.evictions").tag("cause", "transfer").register(meterRegistry);
+        Gauge.builder("risk.cache.size", this, RiskAssessmentCache::size).register(meterRegistry);
+    }
+
+    /**
+     * The assessment for the account as loaded, computing and caching it on a miss
+     */
+    public ComputationalService.RiskAssessment get(Account account, ComputationalService.RiskOptions options) {
+        Key key = new Key(account.getAccountId(), account.getBalanceVersion(), options);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (ticker.getAsLong() - entry.createdNanos < ttl.toNanos()) {
+                    hits.increment();
+                    return entry.assessment;
+                }
+                remove(key);
+                expirations.increment();
+            }
+        }
+
+        misses.increment();
+        ComputationalService.RiskAssessment assessment = computationalService.calculateRiskAssessment(
+            account.getAccountId(), account.getBalance().doubleValue(), options);
+
+        synchronized (entries) {
+            if (!entries.containsKey(key)) {
+                entries.put(key, new Entry(assessment, ticker.getAsLong()));
+                keysByAccount.computeIfAbsent(key.accountId, id -> new HashSet<>()).add(key);
+                while (entries.size() > maxEntries) {
+                    remove(entries.keySet().iterator().next());
+                    sizeEvictions.increment();
+                }
+            }
+        }
+        return assessment;
+    }
+
+    /**
+     * Drops every cached assessment of both accounts once the transfer has committed;
+     * a rolled-back transfer changed nothing, so its entries stay valid.
+     * Runs before other after-commit listeners, so a post-commit refresh
+     * (see {@link RiskRefreshListener}) is never dropped by its own transfer
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        invalidate(event.fromAccountId);
+        invalidate(event.toAccountId);
+    }
+
+    public void invalidate(Long accountId) {
+        synchronized (entries) {
+            Set<Key> keys = keysByAccount.remove(accountId);
+            if (keys != null) {
+                for (Key key : keys) {
+                    entries.remove(key);
+                }
+                invalidations.increment(keys.size());
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    void setTicker(LongSupplier ticker) {
+        this.ticker = ticker;
+    }
+
+    // Caller holds the entries lock
+    private void remove(Key key) {
+        entries.remove(key);
+        Set<Key> keys = keysByAccount.get(key.accountId);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByAccount.remove(key.accountId);
+            }
+        }
+    }
+
+    private static final class Key {
+        final Long accountId;
+        final long balanceVersion;
+        final ComputationalService.RiskOptions options;
+
+        Key(Long accountId, long balanceVersion, ComputationalService.RiskOptions options) {
+            this.accountId = accountId;
+            this.balanceVersion = balanceVersion;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return balanceVersion == other.balanceVersion
+                && accountId.equals(other.accountId)
+                && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, balanceVersion, options);
+        }
+    }
+
+    private static final class Entry {
+        final ComputationalService.RiskAssessment assessment;
+        final long createdNanos;
+
+        Entry(ComputationalService.RiskAssessment assessment, long createdNanos) {
+            this.assessment = assessment;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.banking.service;
+
+import com.banking.repository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Post-commit risk assessment for larger transfers
+ * Once a transfer over {@link #LARGE_TRANSFER} commits, the source account's new
+ * balance is assessed on the computationExecutor and stored in the
+ * {@link RiskAssessmentCache}, so the transfer itself never waits for the
+ * simulation and the next risk analysis of that account is a cache hit.
+ * Submission happens in the committing thread; a full executor drops the refresh
+ * (the next read computes it instead) rather than failing a committed transfer
+ */
+@Component
+public class RiskRefreshListener {
+
+    static final BigDecimal LARGE_TRANSFER = BigDecimal.valueOf(1000);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RiskAssessmentCache riskAssessmentCache;
+
+    @Autowired
+    @Qualifier("computationExecutor")
+    private Executor computationExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter completed;
+    private Counter failed;
+    private Counter rejected;
+
+    @PostConstruct
+    void registerMetrics() {
+        completed = Counter.builder("risk.refresh").tag("result", "completed").register(meterRegistry);
+        failed = Counter.builder("risk.refresh").tag("result", "failed").register(meterRegistry);
+        rejected = Counter.builder("risk.refresh").tag("result", "rejected").register(meterRegistry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        if (event.amount.compareTo(LARGE_TRANSFER) <= 0) {
+            return;
+        }
+        try {
+            computationExecutor.execute(() -> refresh(event.fromAccountId));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+        }
+    }
+
+    private void refresh(Long accountId) {
+        try {
+            // Reads the committed balance, so the entry lands under the new balance version
+            accountRepository.findById(accountId).ifPresent(account ->
+                riskAssessmentCache.get(account, ComputationalService.RiskOptions.DEFAULT));
+            completed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+        }
+    }
+}
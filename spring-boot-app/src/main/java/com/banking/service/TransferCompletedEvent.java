@@ -0,0 +1,20 @@
+package com.banking.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Published by {@link BankingService#transferMoney} once both balances have been updated
+ * Listeners that only care about committed state should use
+ * {@code @TransactionalEventListener}, which defers delivery to after the commit
+ */
+public class TransferCompletedEvent {
+    public final Long fromAccountId;
+    public final Long toAccountId;
+    public final BigDecimal amount;
+    
+    public TransferCompletedEvent(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+    }
+}
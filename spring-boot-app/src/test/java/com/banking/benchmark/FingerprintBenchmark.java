@@ -0,0 +1,67 @@
+package com.banking.benchmark;
+
+import com.banking.compute.FingerprintBatcher;
+import com.banking.compute.HashEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * One fraud check's eight 500-round hash chains: a task per chain on the shared
+ * pool (the old layout) vs queued through the fingerprint batcher
+ * Run with -t to see several checks contending for the same pool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FingerprintBenchmark {
+
+    private static final int CHAINS = 8;
+    private static final int ROUNDS = 500;
+
+    private ExecutorService executor;
+    private FingerprintBatcher batcher;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(24);
+        batcher = new FingerprintBatcher(executor, 64);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public double taskPerChain() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(CHAINS);
+        for (int i = 0; i < CHAINS; i++) {
+            final int taskId = i;
+            futures.add(executor.submit(() -> HashEngine.current().fingerprint(12345, taskId, ROUNDS)));
+        }
+        double sum = 0;
+        for (Future<Integer> f : futures) {
+            sum += f.get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double batched() throws Exception {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(CHAINS);
+        for (int i = 0; i < CHAINS; i++) {
+            futures.add(batcher.submit(12345, i, ROUNDS));
+        }
+        double sum = 0;
+        for (CompletableFuture<Integer> f : futures) {
+            sum += f.get();
+        }
+        return sum;
+    }
+}
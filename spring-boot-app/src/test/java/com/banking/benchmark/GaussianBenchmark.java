@@ -0,0 +1,59 @@
+package com.banking.benchmark;
+
+import com.banking.compute.ZigguratGaussian;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one standard normal draw: java.util.Random's polar method (with its
+ * atomic seed update), the JDK 17 generators' built-in nextGaussian, and the
+ * ziggurat sampler over a per-thread SplittableRandom
+ * Run with -t 4 to see the shared Random's CAS contention
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GaussianBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        final Random random = new Random(42);
+    }
+
+    @State(Scope.Thread)
+    public static class PerThread {
+        final Random random = new Random(42);
+        final SplittableRandom splittable = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public double sharedRandomPolar(Shared shared) {
+        return shared.random.nextGaussian();
+    }
+
+    @Benchmark
+    public double perThreadRandomPolar(PerThread state) {
+        return state.random.nextGaussian();
+    }
+
+    @Benchmark
+    public double threadLocalRandom() {
+        return ThreadLocalRandom.current().nextGaussian();
+    }
+
+    @Benchmark
+    public double splittableRandom(PerThread state) {
+        return state.splittable.nextGaussian();
+    }
+
+    @Benchmark
+    public double ziggurat(PerThread state) {
+        return ZigguratGaussian.next(state.splittable);
+    }
+}
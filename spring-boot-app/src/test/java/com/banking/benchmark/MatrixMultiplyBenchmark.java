@@ -0,0 +1,74 @@
+package com.banking.benchmark;
+
+import com.banking.compute.InferenceKernels;
+import com.banking.compute.MatrixKernel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Naive i-j-k multiply over double[][] (allocating its result, as the ML path
+ * used to) vs the cache-blocked flat kernel writing into a reused buffer,
+ * and the selected inference kernels (vectorised tiles when the module is enabled)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatrixMultiplyBenchmark {
+
+    @Param({"50", "100", "256", "512"})
+    public int size;
+
+    private double[][] a2d;
+    private double[][] b2d;
+    private double[] a;
+    private double[] b;
+    private double[] c;
+    private final InferenceKernels kernels = InferenceKernels.select();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        a2d = new double[size][size];
+        b2d = new double[size][size];
+        a = new double[size * size];
+        b = new double[size * size];
+        c = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                a[i * size + j] = a2d[i][j] = random.nextGaussian();
+                b[i * size + j] = b2d[i][j] = random.nextGaussian();
+            }
+        }
+    }
+
+    @Benchmark
+    public double[][] naive2d() {
+        int n = size;
+        double[][] result = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < n; k++) {
+                    result[i][j] += a2d[i][k] * b2d[k][j];
+                }
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] blockedFlat() {
+        MatrixKernel.multiply(a, b, c, size);
+        return c;
+    }
+
+    @Benchmark
+    public double[] selectedKernels() {
+        kernels.multiply(a, b, c, size);
+        return c;
+    }
+}
@@ -0,0 +1,39 @@
+package com.banking.benchmark;
+
+import com.banking.compute.PathBackend;
+import com.banking.compute.PathChunk;
+import com.banking.compute.PathModel;
+import com.banking.compute.VarianceReduction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 4,000 paths of the standard 100-step walk on one chunk: path at a time versus
+ * lockstep structure-of-arrays blocks (vector kernels when jdk.incubator.vector is enabled)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class PathBlockBenchmark {
+
+    private static final int PATHS = 4000;
+
+    @Param({"SCALAR", "BLOCK"})
+    public PathBackend backend;
+
+    @Param({"NONE", "SOBOL"})
+    public VarianceReduction technique;
+
+    private final double[] outcomes = new double[PATHS];
+
+    @Benchmark
+    public double walkPaths() {
+        PathChunk chunk = new PathChunk(PathModel.standard(), 10_000.0, technique, backend, 42L, 0L, 0);
+        chunk.run(outcomes, 0, PATHS);
+        return chunk.outcomes().mean();
+    }
+}
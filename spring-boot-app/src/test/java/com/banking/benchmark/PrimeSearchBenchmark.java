@@ -0,0 +1,68 @@
+package com.banking.benchmark;
+
+import com.banking.compute.SegmentedSieve;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trial division vs segmented sieve for one distributed prime search slice
+ * Ranges mirror the endpoint: accountId * 1000 base, rangeSize = 100000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimeSearchBenchmark {
+
+    @Param({"1", "500", "999"})
+    public long accountId;
+
+    @Param({"100000"})
+    public int rangeSize;
+
+    private long from;
+    private long to;
+
+    @Setup
+    public void setUp() {
+        from = accountId * 1000;
+        to = from + rangeSize;
+    }
+
+    @Benchmark
+    public long trialDivision() {
+        long count = 0;
+        for (long num = from; num < to; num++) {
+            if (isPrime(num)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long[] segmentedSieve() {
+        return SegmentedSieve.primesInRange(from, to);
+    }
+
+    @Benchmark
+    public long segmentedSieveCount() {
+        return SegmentedSieve.countPrimes(from, to);
+    }
+
+    // Same trial division as ComputationalService.isPrime
+    private static boolean isPrime(long n) {
+        if (n <= 1) return false;
+        if (n <= 3) return true;
+        if (n % 2 == 0 || n % 3 == 0) return false;
+
+        for (long i = 5; i * i <= n; i += 6) {
+            if (n % i == 0 || n % (i + 2) == 0) return false;
+        }
+
+        return true;
+    }
+}
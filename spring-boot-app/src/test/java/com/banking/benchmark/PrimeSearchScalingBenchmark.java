@@ -0,0 +1,47 @@
+package com.banking.benchmark;
+
+import com.banking.compute.PrimeArray;
+import com.banking.compute.PrimeSearchTask;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup curve of the fork/join prime search from 1 to N workers
+ * The range sits beyond the prime table so every run really sieves;
+ * pass -p parallelism=1,2,...,N to match the machine under test
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimeSearchScalingBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"20000000"})
+    public long rangeSize;
+
+    private final long from = 100_000_000_000L;
+
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public PrimeArray forkJoinSearch() {
+        return PrimeSearchTask.search(pool, from, from + rangeSize);
+    }
+}
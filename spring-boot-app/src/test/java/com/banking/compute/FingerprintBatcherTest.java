@@ -0,0 +1,92 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintBatcherTest {
+
+    @Test
+    void testConcurrentCallersGetTheirOwnFingerprints() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ExecutorService callers = Executors.newFixedThreadPool(12);
+        try {
+            FingerprintBatcher batcher = new FingerprintBatcher(executor, 16);
+            List<Future<Boolean>> checks = new ArrayList<>();
+            for (int caller = 0; caller < 12; caller++) {
+                final long accountId = 1000L + caller;
+                checks.add(callers.submit(() -> {
+                    List<CompletableFuture<Integer>> results = new ArrayList<>();
+                    for (int taskId = 0; taskId < 8; taskId++) {
+                        results.add(batcher.submit(accountId, taskId, 500));
+                    }
+                    for (int taskId = 0; taskId < 8; taskId++) {
+                        int expected = HashEngine.current().fingerprint(accountId, taskId, 500);
+                        if (results.get(taskId).get() != expected) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> check : checks) {
+                assertTrue(check.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testQueuedRequestsShareOneDrainTask() throws Exception {
+        // Hold the drain back until every request is queued
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger drains = new AtomicInteger();
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            Executor gated = task -> {
+                drains.incrementAndGet();
+                worker.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    task.run();
+                });
+            };
+            FingerprintBatcher batcher = new FingerprintBatcher(gated, 64);
+
+            List<CompletableFuture<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                results.add(batcher.submit(42, i, 100));
+            }
+            release.countDown();
+
+            for (int i = 0; i < 40; i++) {
+                assertEquals(HashEngine.current().fingerprint(42, i, 100), results.get(i).get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, drains.get());
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRejectedDrainFailsTheCaller() {
+        FingerprintBatcher batcher = new FingerprintBatcher(task -> {
+            throw new RejectedExecutionException("shut down");
+        }, 8);
+
+        CompletableFuture<Integer> result = batcher.submit(1, 2, 3);
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        assertThrows(IllegalArgumentException.class, () -> batcher.submit(1, 2, -1));
+    }
+}
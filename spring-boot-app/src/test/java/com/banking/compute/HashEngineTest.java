@@ -0,0 +1,83 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashEngineTest {
+
+    /**
+     * The string-based chain HashEngine replaced
+     */
+    private static String referenceHash(String input, int iterations) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = input.getBytes();
+        for (int i = 0; i < iterations; i++) {
+            hash = digest.digest(hash);
+            for (int j = 0; j < hash.length; j++) {
+                hash[j] ^= (byte) (i % 256);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Test
+    void testFingerprintMatchesStringChain() throws Exception {
+        HashEngine engine = HashEngine.current();
+
+        for (long accountId : new long[] {0, 1, 12345, -77, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            for (int taskId = 0; taskId < 8; taskId++) {
+                for (int iterations : new int[] {1, 2, 500, 700}) {
+                    String expected = referenceHash(accountId + "" + taskId, iterations);
+                    assertEquals(expected.hashCode(), engine.fingerprint(accountId, taskId, iterations),
+                        "Mismatch for " + accountId + "/" + taskId + " x" + iterations);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testZeroIterationsFingerprintsTheSeed() {
+        String seedHex = "";
+        for (byte b : "423".getBytes()) {
+            seedHex += String.format("%02x", b);
+        }
+        assertEquals(seedHex.hashCode(), HashEngine.current().fingerprint(42, 3, 0));
+    }
+
+    @Test
+    void testWriteDecimalMatchesLongToString() {
+        byte[] out = new byte[24];
+        for (long value : new long[] {0, 7, 10, 99, -1, -1000, 123456789012L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            int end = HashEngine.writeDecimal(value, out, 2);
+            assertEquals(Long.toString(value), new String(out, 2, end - 2));
+        }
+    }
+
+    @Test
+    void testFingerprintDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        HashEngine engine = HashEngine.current();
+
+        int sink = 0;
+        for (int i = 0; i < 2000; i++) {
+            sink += engine.fingerprint(12345, i & 7, 500);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100; i++) {
+            sink += engine.fingerprint(12345, i & 7, 500);
+        }
+        long perCall = (threads.getThreadAllocatedBytes(threadId) - before) / 100;
+
+        System.out.println("Fingerprint allocated " + perCall + " bytes per 500-round chain (sink " + sink + ")");
+        assertTrue(perCall < 256, "Allocated " + perCall + " bytes per call");
+    }
+}
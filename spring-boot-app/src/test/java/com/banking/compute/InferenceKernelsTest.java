@@ -0,0 +1,64 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class InferenceKernelsTest {
+
+    /** Relative tolerance between vector (FMA, lane-wise reduction) and scalar results */
+    private static final double TOLERANCE = 1e-12;
+
+    private final InferenceKernels scalar = new ScalarInferenceKernels();
+
+    @Test
+    void testSelectPicksVectorKernelsWhenModuleIsPresent() {
+        InferenceKernels selected = InferenceKernels.select();
+
+        if (VectorSupport.isAvailable()) {
+            assertTrue(selected.name().startsWith("vector-"), "Selected " + selected.name());
+        } else {
+            assertEquals("scalar", selected.name());
+        }
+        System.out.println("Selected inference kernels: " + selected.name());
+    }
+
+    @Test
+    void testVectorMultiplyMatchesScalar() {
+        assumeTrue(VectorSupport.isAvailable(), "jdk.incubator.vector not enabled");
+        InferenceKernels vector = new VectorInferenceKernels();
+
+        for (int n : new int[] {1, 3, 8, 50, 67, 100, 129, 200}) {
+            SplittableRandom random = new SplittableRandom(n);
+            double[] a = random.doubles(n * n, -1, 1).toArray();
+            double[] b = random.doubles(n * n, -1, 1).toArray();
+            double[] expected = new double[n * n];
+            double[] actual = new double[n * n];
+
+            scalar.multiply(a, b, expected, n);
+            vector.multiply(a, b, actual, n);
+
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], actual[i], TOLERANCE * Math.max(1, Math.abs(expected[i]) * n),
+                    "Mismatch for n=" + n + " at " + i);
+            }
+        }
+    }
+
+    @Test
+    void testVectorTanhSumMatchesScalar() {
+        assumeTrue(VectorSupport.isAvailable(), "jdk.incubator.vector not enabled");
+        InferenceKernels vector = new VectorInferenceKernels();
+
+        SplittableRandom random = new SplittableRandom(99);
+        double[] values = random.doubles(2503, -30, 30).toArray();
+        for (int length : new int[] {0, 1, 5, 16, 2500, 2503}) {
+            double expected = scalar.tanhSum(values, length);
+            assertEquals(expected, vector.tanhSum(values, length), TOLERANCE * Math.max(1, length),
+                "Mismatch for length " + length);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixKernelTest {
+
+    @Test
+    void testBitIdenticalToNaiveLoop() {
+        // Sizes below, at and across the tile edge, including ragged last tiles
+        for (int n : new int[] {1, 7, 50, 64, 65, 100, 130}) {
+            SplittableRandom random = new SplittableRandom(n);
+            double[] a = random.doubles(n * n, -1, 1).toArray();
+            double[] b = random.doubles(n * n, -1, 1).toArray();
+            double[] c = new double[n * n];
+
+            MatrixKernel.multiply(a, b, c, n);
+
+            assertArrayEquals(naive(a, b, n), c, 0.0, "Mismatch for n=" + n);
+        }
+    }
+
+    @Test
+    void testOutputBufferIsOverwritten() {
+        double[] a = {1, 2, 3, 4};
+        double[] b = {5, 6, 7, 8};
+        double[] c = {99, 99, 99, 99, 42};
+
+        MatrixKernel.multiply(a, b, c, 2);
+
+        assertArrayEquals(new double[] {19, 22, 43, 50, 42}, c, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> MatrixKernel.multiply(a, b, new double[3], 2));
+    }
+
+    private static double[] naive(double[] a, double[] b, int n) {
+        double[] c = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < n; k++) {
+                    c[i * n + j] += a[i * n + k] * b[k * n + j];
+                }
+            }
+        }
+        return c;
+    }
+}
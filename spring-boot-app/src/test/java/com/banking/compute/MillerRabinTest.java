@@ -0,0 +1,66 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MillerRabinTest {
+
+    @Test
+    void testMatchesSieveBelowTwoMillion() {
+        long[] primes = SegmentedSieve.primesInRange(0, 2_000_000);
+        int idx = 0;
+        for (long n = -5; n < 2_000_000; n++) {
+            boolean expected = idx < primes.length && primes[idx] == n;
+            assertEquals(expected, MillerRabin.isPrime(n), "Mismatch for " + n);
+            if (expected) {
+                idx++;
+            }
+        }
+    }
+
+    @Test
+    void testMatchesSieveAroundDirectArithmeticLimit() {
+        // Crosses the switch from plain arithmetic to Montgomery multiplication
+        long from = 3_037_000_499L - 200_000;
+        long to = 3_037_000_499L + 200_000;
+        long[] primes = SegmentedSieve.primesInRange(from, to);
+        int idx = 0;
+        for (long n = from; n < to; n++) {
+            boolean expected = idx < primes.length && primes[idx] == n;
+            assertEquals(expected, MillerRabin.isPrime(n), "Mismatch for " + n);
+            if (expected) {
+                idx++;
+            }
+        }
+    }
+
+    @Test
+    void testStrongPseudoprimesAreRejected() {
+        assertFalse(MillerRabin.isPrime(561));                    // Carmichael number
+        assertFalse(MillerRabin.isPrime(3_215_031_751L));          // strong pseudoprime to 2, 3, 5, 7
+        assertFalse(MillerRabin.isPrime(3_825_123_056_546_413_051L)); // strong pseudoprime to bases 2..23
+        assertFalse(MillerRabin.isPrime(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testLargePrimes() {
+        assertTrue(MillerRabin.isPrime(1_000_000_007L));
+        assertTrue(MillerRabin.isPrime(4_294_967_291L));           // largest prime below 2^32
+        assertTrue(MillerRabin.isPrime(999_999_999_989L));
+        assertTrue(MillerRabin.isPrime(9_223_372_036_854_775_783L)); // largest prime below 2^63
+        assertFalse(MillerRabin.isPrime(4_294_967_291L * 4_294_967_279L));
+    }
+
+    @Test
+    void testMatchesBigIntegerOnRandomLongs() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 20_000; i++) {
+            long n = random.nextLong(Long.MAX_VALUE) | 1;
+            assertEquals(BigInteger.valueOf(n).isProbablePrime(64), MillerRabin.isPrime(n), "Mismatch for " + n);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NormalQuantileTest {
+
+    @Test
+    void testKnownQuantiles() {
+        assertEquals(0.0, NormalQuantile.inverse(0.5), 1e-12);
+        assertEquals(1.959963984540054, NormalQuantile.inverse(0.975), 1e-8);
+        assertEquals(-2.326347874040841, NormalQuantile.inverse(0.01), 1e-8);
+        assertEquals(-6.361340902404056, NormalQuantile.inverse(1e-10), 1e-7);
+        assertEquals(4.264890793922825, NormalQuantile.inverse(1 - 1e-5), 1e-7);
+    }
+
+    @Test
+    void testSymmetry() {
+        for (double p = 0.001; p < 0.5; p += 0.0123) {
+            assertEquals(-NormalQuantile.inverse(p), NormalQuantile.inverse(1 - p), 1e-8, "p = " + p);
+        }
+    }
+
+    @Test
+    void testRejectsProbabilitiesOutsideTheOpenInterval() {
+        assertThrows(IllegalArgumentException.class, () -> NormalQuantile.inverse(0));
+        assertThrows(IllegalArgumentException.class, () -> NormalQuantile.inverse(1));
+        assertThrows(IllegalArgumentException.class, () -> NormalQuantile.inverse(Double.NaN));
+    }
+}
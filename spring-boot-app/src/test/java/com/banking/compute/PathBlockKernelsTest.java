@@ -0,0 +1,111 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PathBlockKernelsTest {
+
+    /** Relative tolerance for the vector walk, whose lane-wise log1p may differ in the last place */
+    private static final double TOLERANCE = 1e-9;
+
+    private final PathBlockKernels scalar = new ScalarPathBlockKernels();
+
+    @Test
+    void testSelectPicksVectorKernelsWhenModuleIsPresent() {
+        PathBlockKernels selected = PathBlockKernels.select();
+
+        if (VectorSupport.isAvailable()) {
+            assertTrue(selected.name().startsWith("vector-"), "Selected " + selected.name());
+        } else {
+            assertEquals("scalar", selected.name());
+        }
+        System.out.println("Selected path block kernels: " + selected.name());
+    }
+
+    @Test
+    void testScalarBlockMatchesPathAtATimeExactly() {
+        for (PathModel model : new PathModel[] {PathModel.standard(), PathModel.of(37, PathModel.Drift.LINEAR_DECAY)}) {
+            for (int width : new int[] {1, 7, 64}) {
+                Block block = new Block(model, width, 10_000.0, width);
+                scalar.walk(model, block.balances, block.draws, width, block.controls);
+
+                for (int lane = 0; lane < width; lane++) {
+                    double[] row = block.row(lane);
+                    assertEquals(model.simulate(10_000.0, row, 1.0), block.balances[lane], 0.0, "Lane " + lane);
+                    assertEquals(model.controlValue(10_000.0, row, 1.0), block.controls[lane], 0.0, "Lane " + lane);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testVectorBlockMatchesScalar() {
+        assumeTrue(VectorSupport.isAvailable(), "jdk.incubator.vector not enabled");
+        PathBlockKernels vector = new VectorPathBlockKernels();
+
+        PathModel model = PathModel.standard();
+        for (int width : new int[] {1, 3, 8, 61, 64}) {
+            Block expected = new Block(model, width, 2_500.0, 100 + width);
+            Block actual = new Block(model, width, 2_500.0, 100 + width);
+            scalar.walk(model, expected.balances, expected.draws, width, expected.controls);
+            vector.walk(model, actual.balances, actual.draws, width, actual.controls);
+
+            for (int lane = 0; lane < width; lane++) {
+                assertEquals(expected.balances[lane], actual.balances[lane],
+                    TOLERANCE * Math.max(2_500.0, Math.abs(expected.balances[lane])), "Width " + width + " lane " + lane);
+                assertEquals(expected.controls[lane], actual.controls[lane],
+                    TOLERANCE * Math.abs(expected.controls[lane]), "Width " + width + " lane " + lane);
+            }
+        }
+    }
+
+    @Test
+    void testNullControlsAreSkipped() {
+        PathModel model = PathModel.standard();
+        Block withControls = new Block(model, 16, 500.0, 5);
+        Block without = new Block(model, 16, 500.0, 5);
+        PathBlockKernels selected = PathBlockKernels.select();
+
+        selected.walk(model, withControls.balances, withControls.draws, 16, withControls.controls);
+        selected.walk(model, without.balances, without.draws, 16, null);
+
+        assertArrayEquals(withControls.balances, without.balances);
+    }
+
+    /**
+     * A step-major block of ziggurat draws with every lane started at start
+     */
+    private static final class Block {
+        final int width;
+        final int steps;
+        final double[] draws;
+        final double[] balances;
+        final double[] controls;
+
+        Block(PathModel model, int width, double start, long seed) {
+            this.width = width;
+            this.steps = model.steps();
+            SplittableRandom random = new SplittableRandom(seed);
+            draws = new double[width * steps];
+            for (int i = 0; i < draws.length; i++) {
+                draws[i] = ZigguratGaussian.next(random);
+            }
+            balances = new double[width];
+            controls = new double[width];
+            java.util.Arrays.fill(balances, start);
+            java.util.Arrays.fill(controls, start);
+        }
+
+        double[] row(int lane) {
+            double[] row = new double[steps];
+            for (int step = 0; step < steps; step++) {
+                row[step] = draws[step * width + lane];
+            }
+            return row;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathChunkTest {
+
+    /** The block backend may use the vector kernels, whose log1p can differ in the last place */
+    private static final double TOLERANCE = 1e-9;
+
+    @Test
+    void testBlockBackendWalksTheSamePathsAsScalar() {
+        for (VarianceReduction technique : VarianceReduction.values()) {
+            // Uneven batch sizes so blocks end mid-way and an antithetic batch ends on a lone path
+            PathChunk scalar = new PathChunk(PathModel.standard(), 10_000.0, technique, PathBackend.SCALAR, 42L, 7L, 3);
+            PathChunk block = new PathChunk(PathModel.standard(), 10_000.0, technique, PathBackend.BLOCK, 42L, 7L, 3);
+            double[] expected = new double[1000];
+            double[] actual = new double[1000];
+            for (int[] batch : new int[][] {{0, 130}, {130, 64}, {194, 805}}) {
+                scalar.run(expected, batch[0], batch[1]);
+                block.run(actual, batch[0], batch[1]);
+            }
+
+            for (int i = 0; i < 999; i++) {
+                assertEquals(expected[i], actual[i], TOLERANCE * Math.max(10_000.0, Math.abs(expected[i])),
+                    technique + " path " + i);
+            }
+            assertEquals(scalar.outcomes().count(), block.outcomes().count());
+            assertEquals(scalar.outcomes().mean(), block.outcomes().mean(), TOLERANCE * 10_000.0, technique.name());
+            assertEquals(scalar.units().count(), block.units().count(), technique.name());
+            assertEquals(scalar.units().meanX(), block.units().meanX(), TOLERANCE * 10_000.0, technique.name());
+            assertEquals(scalar.units().covariance(), block.units().covariance(),
+                TOLERANCE * Math.abs(scalar.units().covariance()) + 1e-9, technique.name());
+        }
+    }
+
+    @Test
+    void testBlockWidthAdaptsToLongWalks() {
+        PathModel model = PathModel.of(3_000, PathModel.Drift.NONE);
+        PathChunk scalar = new PathChunk(model, 100.0, VarianceReduction.ANTITHETIC, PathBackend.SCALAR, 1L, 2L, 0);
+        PathChunk block = new PathChunk(model, 100.0, VarianceReduction.ANTITHETIC, PathBackend.BLOCK, 1L, 2L, 0);
+        double[] expected = new double[9];
+        double[] actual = new double[9];
+
+        scalar.run(expected, 0, 9);
+        block.run(actual, 0, 9);
+
+        for (int i = 0; i < 9; i++) {
+            assertEquals(expected[i], actual[i], TOLERANCE * Math.max(100.0, Math.abs(expected[i])), "Path " + i);
+        }
+        assertEquals(scalar.units().count(), block.units().count());
+    }
+}
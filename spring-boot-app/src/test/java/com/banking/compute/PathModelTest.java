@@ -0,0 +1,60 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathModelTest {
+
+    @Test
+    void testStandardModelMatchesInlineWalk() {
+        PathModel model = PathModel.standard();
+        SplittableRandom draws = new SplittableRandom(99);
+        SplittableRandom replay = new SplittableRandom(99);
+
+        for (int path = 0; path < 1000; path++) {
+            double expected = 10_000;
+            for (int step = 0; step < 100; step++) {
+                double drift = Math.sin(step * 0.1) * 0.05;
+                double volatility = Math.sqrt(step + 1) * 0.02;
+                expected *= (1 + ZigguratGaussian.next(replay) * volatility + drift);
+                expected += Math.log1p(Math.abs(expected)) * Math.cos(step);
+            }
+            // Math.sin/cos/log1p may differ by an ulp between interpreted and compiled code
+            assertEquals(expected, model.simulate(10_000, draws), Math.abs(expected) * 1e-12);
+        }
+    }
+
+    @Test
+    void testDriftFunctions() {
+        PathModel decay = PathModel.of(50, PathModel.Drift.LINEAR_DECAY);
+        assertEquals(0.05, decay.drift[0]);
+        assertEquals(0.001, decay.drift[49], 1e-15);
+
+        PathModel none = PathModel.of(10, PathModel.Drift.NONE);
+        for (double d : none.drift) {
+            assertEquals(0.0, d);
+        }
+        assertEquals(10, none.steps());
+        assertEquals(PathModel.Drift.NONE, none.driftFunction());
+    }
+
+    @Test
+    void testStepsScaleTheWalk() {
+        PathModel longWalk = PathModel.of(400, PathModel.Drift.SINE);
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertEquals(400, longWalk.volatility.length);
+        assertEquals(Math.sqrt(400) * 0.02, longWalk.volatility[399]);
+        assertTrue(Double.isFinite(longWalk.simulate(10_000, random)));
+    }
+
+    @Test
+    void testRejectsInvalidModels() {
+        assertThrows(IllegalArgumentException.class, () -> PathModel.of(0, PathModel.Drift.SINE));
+        assertThrows(IllegalArgumentException.class, () -> PathModel.of(PathModel.MAX_STEPS + 1, PathModel.Drift.SINE));
+        assertThrows(IllegalArgumentException.class, () -> PathModel.of(100, null));
+    }
+}
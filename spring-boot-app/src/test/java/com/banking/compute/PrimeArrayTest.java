@@ -0,0 +1,39 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeArrayTest {
+
+    @Test
+    void testConcatMergesPartsInOrder() {
+        PrimeArray first = SegmentedSieve.collect(0, 100);
+        PrimeArray second = SegmentedSieve.collect(100, 200);
+
+        PrimeArray merged = PrimeArray.concat(first, PrimeArray.EMPTY, second);
+
+        assertEquals(46, merged.size());
+        assertArrayEquals(SegmentedSieve.primesInRange(0, 200), merged.toArray());
+        assertEquals(2, merged.get(0));
+        assertEquals(199, merged.get(45));
+    }
+
+    @Test
+    void testConcatReusesSingleNonEmptyPart() {
+        PrimeArray only = PrimeArray.wrap(new long[] {2, 3, 5});
+
+        assertSame(only, PrimeArray.concat(PrimeArray.EMPTY, only, PrimeArray.EMPTY));
+        assertSame(PrimeArray.EMPTY, PrimeArray.concat());
+    }
+
+    @Test
+    void testUntrimmedBufferExposesOnlyFilledPrefix() {
+        PrimeArray primes = new PrimeArray(new long[] {2, 3, 5, 0, 0}, 3);
+
+        assertEquals(3, primes.size());
+        assertEquals(10, primes.stream().sum());
+        assertArrayEquals(new long[] {2, 3, 5}, primes.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> primes.get(3));
+    }
+}
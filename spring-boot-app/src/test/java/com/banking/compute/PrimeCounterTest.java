@@ -0,0 +1,53 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeCounterTest {
+
+    @Test
+    void testPiKnownValues() {
+        long[] expected = {0, 4, 25, 168, 1229, 9592, 78498, 664579, 5761455, 50847534, 455052511};
+        long n = 1;
+        for (long pi : expected) {
+            assertEquals(pi, PrimeCounter.pi(n), "pi(" + n + ")");
+            n *= 10;
+        }
+        assertEquals(0, PrimeCounter.pi(1));
+        assertEquals(1, PrimeCounter.pi(2));
+        assertEquals(2, PrimeCounter.pi(4));
+    }
+
+    @Test
+    void testPiMatchesSieveAroundSquares() {
+        // Off-by-one territory for the small/large split in Lucy's tables
+        for (long r = 2; r < 400; r += 7) {
+            for (long n = r * r - 2; n <= r * r + 2; n++) {
+                assertEquals(SegmentedSieve.countPrimes(0, n + 1), PrimeCounter.pi(n), "pi(" + n + ")");
+            }
+        }
+    }
+
+    @Test
+    void testRangeCountsMatchSieve() {
+        long[][] ranges = {
+            {0, 100},
+            {11_111_000, 11_161_000},
+            {16_000_000, 17_000_000},
+            {2_000_000_000L, 2_000_100_000L},
+            {1_000_000L, 600_000_000L}
+        };
+        for (long[] range : ranges) {
+            assertEquals(SegmentedSieve.countPrimes(range[0], range[1]),
+                PrimeCounter.countPrimes(range[0], range[1]),
+                "Count for [" + range[0] + ", " + range[1] + ")");
+        }
+        assertEquals(0, PrimeCounter.countPrimes(500, 500));
+    }
+
+    @Test
+    void testBeyondLimitIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PrimeCounter.pi(PrimeCounter.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,44 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeSearchTaskTest {
+
+    @Test
+    void testMatchesSieveForEveryPoolSize() {
+        long from = 50_000_000_017L;
+        long to = from + 3_000_001;
+        long[] expected = SegmentedSieve.primesInRange(from, to);
+
+        for (int parallelism : new int[] {1, 2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                assertArrayEquals(expected, PrimeSearchTask.search(pool, from, to).toArray(),
+                    "Mismatch with parallelism " + parallelism);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testKeepsTheWholeRange() {
+        // Widths that do not divide evenly must not lose their remainder
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long from = PrimeTable.MAX_LIMIT;
+            for (long width : new long[] {1, 11, 100_003, 1_000_037}) {
+                assertEquals(SegmentedSieve.countPrimes(from, from + width),
+                    PrimeSearchTask.search(pool, from, from + width).size(), "Width " + width);
+            }
+            assertEquals(SegmentedSieve.countPrimes(0, 100_003), PrimeSearchTask.search(pool, 0, 100_003).size());
+            assertTrue(PrimeSearchTask.search(pool, 500, 500).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimeTableTest {
+
+    @Test
+    void testNthPrimeKnownValues() {
+        PrimeTable table = new PrimeTable(64);
+
+        assertEquals(2, table.nthPrime(1));
+        assertEquals(29, table.nthPrime(10));
+        assertEquals(541, table.nthPrime(100));
+        assertEquals(7919, table.nthPrime(1000));
+        assertEquals(104729, table.nthPrime(10000));
+        assertEquals(1299709, table.nthPrime(100000));
+        assertTrue(table.limit() > 1299709);
+    }
+
+    @Test
+    void testIsPrimeMatchesSieve() {
+        PrimeTable table = new PrimeTable(64);
+        long[] primes = SegmentedSieve.primesInRange(0, 200_000);
+
+        int idx = 0;
+        for (long n = 0; n < 200_000; n++) {
+            boolean expected = idx < primes.length && primes[idx] == n;
+            assertEquals(expected, table.isPrime(n), "Mismatch for " + n);
+            if (expected) {
+                idx++;
+            }
+        }
+    }
+
+    @Test
+    void testPrimesInRangeMatchesSieve() {
+        PrimeTable table = PrimeTable.shared();
+
+        for (long accountId : new long[] {1, 123, 999, 15000}) {
+            long from = accountId * 1000;
+            assertArrayEquals(SegmentedSieve.primesInRange(from, from + 100_000),
+                table.primesInRange(from, from + 100_000));
+        }
+        assertEquals(0, table.primesInRange(500, 500).length);
+    }
+
+    @Test
+    void testBeyondLimitIsRejected() {
+        PrimeTable table = PrimeTable.shared();
+
+        assertFalse(PrimeTable.covers(PrimeTable.MAX_LIMIT + 1));
+        assertThrows(IllegalArgumentException.class, () -> table.isPrime(PrimeTable.MAX_LIMIT + 5));
+        assertThrows(IllegalArgumentException.class, () -> table.nthPrime(0));
+    }
+
+    @Test
+    void testConcurrentGrowthIsConsistent() throws Exception {
+        PrimeTable table = new PrimeTable(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                final int n = 1000 + i * 3000;
+                futures.add(executor.submit(() -> table.nthPrime(n)));
+            }
+
+            long[] expected = SegmentedSieve.primesInRange(0, 2_000_000);
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected[1000 + i * 3000 - 1], futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomStreamsTest {
+
+    @Test
+    void testSameInputsGiveTheSameStream() {
+        SplittableRandom a = RandomStreams.forTask(123, 9, RandomStreams.RISK_PATHS, 4);
+        SplittableRandom b = RandomStreams.forTask(123, 9, RandomStreams.RISK_PATHS, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(a.nextLong(), b.nextLong());
+        }
+    }
+
+    @Test
+    void testEveryCoordinateSeparatesStreams() {
+        Set<Long> firstDraws = new HashSet<>();
+        for (long accountId = 0; accountId < 20; accountId++) {
+            for (long seed = 0; seed < 5; seed++) {
+                for (int stream = RandomStreams.RISK_PATHS; stream <= RandomStreams.PORTFOLIO; stream++) {
+                    for (int index = 0; index < 16; index++) {
+                        firstDraws.add(RandomStreams.forTask(accountId, seed, stream, index).nextLong());
+                    }
+                }
+            }
+        }
+        assertEquals(20 * 5 * 4 * 16, firstDraws.size());
+    }
+
+    @Test
+    void testNeighbouringStreamsAreUncorrelated() {
+        int n = 100_000;
+        SplittableRandom x = RandomStreams.forTask(1, 0, RandomStreams.RISK_PATHS, 0);
+        SplittableRandom y = RandomStreams.forTask(1, 0, RandomStreams.RISK_PATHS, 1);
+
+        double sxy = 0;
+        for (int i = 0; i < n; i++) {
+            sxy += x.nextGaussian() * y.nextGaussian();
+        }
+        // Correlation of independent normals has standard error 1/sqrt(n)
+        assertEquals(0.0, sxy / n, 5.0 / Math.sqrt(n));
+    }
+}
@@ -0,0 +1,67 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunningCovarianceTest {
+
+    @Test
+    void testMatchesTwoPassMoments() {
+        SplittableRandom random = new SplittableRandom(8);
+        int n = 20_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        RunningCovariance moments = new RunningCovariance();
+        for (int i = 0; i < n; i++) {
+            x[i] = 5000 + random.nextGaussian() * 300;
+            y[i] = 0.5 * x[i] + random.nextGaussian() * 40;
+            moments.add(x[i], y[i]);
+        }
+
+        double mx = 0, my = 0;
+        for (int i = 0; i < n; i++) {
+            mx += x[i];
+            my += y[i];
+        }
+        mx /= n;
+        my /= n;
+        double vx = 0, vy = 0, cxy = 0;
+        for (int i = 0; i < n; i++) {
+            vx += (x[i] - mx) * (x[i] - mx);
+            vy += (y[i] - my) * (y[i] - my);
+            cxy += (x[i] - mx) * (y[i] - my);
+        }
+
+        assertEquals(mx, moments.meanX(), 1e-8);
+        assertEquals(my, moments.meanY(), 1e-8);
+        assertEquals(vx / n, moments.varianceX(), vx / n * 1e-10);
+        assertEquals(vy / n, moments.varianceY(), vy / n * 1e-10);
+        assertEquals(cxy / n, moments.covariance(), Math.abs(cxy / n) * 1e-10);
+    }
+
+    @Test
+    void testMergedPartsMatchOneStream() {
+        SplittableRandom random = new SplittableRandom(9);
+        RunningCovariance whole = new RunningCovariance();
+        RunningCovariance merged = new RunningCovariance();
+        for (int part = 0; part < 16; part++) {
+            RunningCovariance partial = new RunningCovariance();
+            for (int i = 0; i < 50 + part * 13; i++) {
+                double a = random.nextDouble(-10, 90);
+                double b = a * a - random.nextDouble();
+                whole.add(a, b);
+                partial.add(a, b);
+            }
+            merged.merge(partial);
+        }
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.meanX(), merged.meanX(), 1e-9);
+        assertEquals(whole.meanY(), merged.meanY(), 1e-7);
+        assertEquals(whole.covariance(), merged.covariance(), Math.abs(whole.covariance()) * 1e-12);
+        assertEquals(whole.varianceY(), merged.varianceY(), whole.varianceY() * 1e-12);
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunningStatsTest {
+
+    @Test
+    void testMatchesTwoPassStatistics() {
+        SplittableRandom random = new SplittableRandom(3);
+        double[] values = new double[15_000];
+        RunningStats stats = new RunningStats();
+        for (int i = 0; i < values.length; i++) {
+            // Large offset so a naive sum-of-squares would lose precision
+            values[i] = 1e9 + random.nextGaussian() * 250;
+            stats.add(values[i]);
+        }
+
+        double mean = 0;
+        for (double v : values) mean += v;
+        mean /= values.length;
+        double m2 = 0;
+        for (double v : values) m2 += (v - mean) * (v - mean);
+
+        assertEquals(values.length, stats.count());
+        assertEquals(mean, stats.mean(), 1e-4);
+        assertEquals(Math.sqrt(m2 / values.length), stats.standardDeviation(), 1e-6);
+    }
+
+    @Test
+    void testMergedPartsMatchOneStream() {
+        SplittableRandom random = new SplittableRandom(5);
+        RunningStats whole = new RunningStats();
+        RunningStats merged = new RunningStats();
+        for (int part = 0; part < 16; part++) {
+            RunningStats partial = new RunningStats();
+            for (int i = 0; i < 100 + part * 37; i++) {
+                double v = random.nextDouble(-1000, 5000);
+                whole.add(v);
+                partial.add(v);
+            }
+            merged.merge(partial);
+        }
+        merged.merge(new RunningStats());
+
+        assertEquals(whole.count(), merged.count());
+        assertEquals(whole.mean(), merged.mean(), 1e-9);
+        assertEquals(whole.variance(), merged.variance(), whole.variance() * 1e-12);
+    }
+
+    @Test
+    void testEmptyAndSingleValue() {
+        RunningStats stats = new RunningStats();
+        assertTrue(Double.isNaN(stats.mean()));
+
+        stats.add(42);
+        assertEquals(42, stats.mean());
+        assertEquals(0, stats.variance());
+    }
+}
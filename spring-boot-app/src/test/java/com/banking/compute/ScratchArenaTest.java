@@ -0,0 +1,87 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScratchArenaTest {
+
+    @Test
+    void testBuffersAreReusedPerSlot() {
+        ScratchArena arena = ScratchArena.current();
+
+        double[] first = arena.doubles(0, 2500);
+        double[] second = arena.doubles(1, 2500);
+
+        assertNotSame(first, second);
+        assertSame(first, arena.doubles(0, 2500));
+        assertSame(first, arena.doubles(0, 100));
+        assertSame(arena, ScratchArena.current());
+    }
+
+    @Test
+    void testBufferGrowsToLargestRequest() {
+        ScratchArena arena = ScratchArena.current();
+
+        double[] small = arena.doubles(2, 16);
+        double[] large = arena.doubles(2, 50_000);
+
+        assertTrue(large.length >= 50_000);
+        assertNotSame(small, large);
+        assertSame(large, arena.doubles(2, 16));
+    }
+
+    @Test
+    void testOversizedBuffersAreNotRetained() {
+        ScratchArena arena = ScratchArena.current();
+        int oversized = ScratchArena.MAX_RETAINED_LENGTH + 1;
+
+        assertNotSame(arena.doubles(3, oversized), arena.doubles(3, oversized));
+    }
+
+    @Test
+    void testRetentionLimitBoundary() {
+        ScratchArena arena = ScratchArena.current();
+        double[] retained = arena.doubles(3, ScratchArena.MAX_RETAINED_LENGTH);
+
+        assertSame(retained, arena.doubles(3, ScratchArena.MAX_RETAINED_LENGTH));
+        double[] oversized = arena.doubles(3, ScratchArena.MAX_RETAINED_LENGTH + 1);
+        assertNotSame(retained, oversized);
+        // The oversized request didn't displace the retained buffer
+        assertSame(retained, arena.doubles(3, 16));
+    }
+
+    @Test
+    void testAdaptiveMonteCarloCapIsNotRetained() {
+        // ComputationalService accepts adaptive runs of up to 1 << 20 paths
+        int maxAdaptivePaths = 1 << 20;
+        assertTrue(ScratchArena.MAX_RETAINED_LENGTH < maxAdaptivePaths);
+        ScratchArena arena = ScratchArena.current();
+
+        assertNotSame(arena.doubles(0, maxAdaptivePaths), arena.doubles(0, maxAdaptivePaths));
+    }
+
+    @Test
+    void testThreadsGetSeparateArenas() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            double[] mine = ScratchArena.current().doubles(0, 64);
+            double[] theirs = executor.submit(() -> ScratchArena.current().doubles(0, 64)).get();
+            assertNotSame(mine, theirs);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testInvalidRequestsAreRejected() {
+        ScratchArena arena = ScratchArena.current();
+
+        assertThrows(IllegalArgumentException.class, () -> arena.doubles(ScratchArena.SLOTS, 1));
+        assertThrows(IllegalArgumentException.class, () -> arena.doubles(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> arena.doubles(0, -1));
+    }
+}
@@ -0,0 +1,97 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedSieveTest {
+
+    @Test
+    void testSmallRangesMatchTrialDivision() {
+        for (long from = 0; from < 64; from++) {
+            for (long to = from; to < 160; to += 7) {
+                assertArrayEquals(trialDivision(from, to), SegmentedSieve.primesInRange(from, to),
+                    "Mismatch for [" + from + ", " + to + ")");
+            }
+        }
+    }
+
+    @Test
+    void testAccountSizedRangesMatchTrialDivision() {
+        // Same shape as the distributed prime search: accountId * 1000 base, 12 slices
+        for (long accountId : new long[] {1, 42, 999, 11111, 123456}) {
+            long base = accountId * 1000;
+            assertArrayEquals(trialDivision(base, base + 8333), SegmentedSieve.primesInRange(base, base + 8333));
+        }
+    }
+
+    @Test
+    void testRangeSpanningSeveralSegments() {
+        long from = 1_000_003L;
+        long to = from + 3 * SegmentedSieve.SEGMENT_SPAN + 12345;
+
+        long[] expected = trialDivision(from, to);
+        assertArrayEquals(expected, SegmentedSieve.primesInRange(from, to));
+        assertEquals(expected.length, SegmentedSieve.countPrimes(from, to));
+    }
+
+    @Test
+    void testCountPrimesKnownValues() {
+        assertEquals(0, SegmentedSieve.countPrimes(0, 2));
+        assertEquals(4, SegmentedSieve.countPrimes(0, 10));
+        assertEquals(25, SegmentedSieve.countPrimes(0, 100));
+        assertEquals(78498, SegmentedSieve.countPrimes(0, 1_000_000));
+        assertEquals(664579, SegmentedSieve.countPrimes(0, 10_000_000));
+    }
+
+    @Test
+    void testWindowsCoverRangeInOrder() {
+        long from = 0;
+        long to = 2 * SegmentedSieve.SEGMENT_SPAN + 999;
+        List<Long> streamed = new ArrayList<>();
+        long[] expectedStart = {from};
+
+        SegmentedSieve.forEachWindow(from, to, (windowStart, windowEnd, buffer, count) -> {
+            assertEquals(expectedStart[0], windowStart);
+            assertTrue(windowEnd - windowStart <= SegmentedSieve.SEGMENT_SPAN);
+            for (int i = 0; i < count; i++) {
+                assertTrue(buffer[i] >= windowStart && buffer[i] < windowEnd);
+                streamed.add(buffer[i]);
+            }
+            expectedStart[0] = windowEnd;
+        });
+
+        assertEquals(to, expectedStart[0]);
+        assertArrayEquals(SegmentedSieve.primesInRange(from, to),
+            streamed.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    @Test
+    void testEmptyAndInvalidRanges() {
+        assertEquals(0, SegmentedSieve.primesInRange(100, 100).length);
+        assertEquals(0, SegmentedSieve.primesInRange(100, 50).length);
+        assertEquals(0, SegmentedSieve.countPrimes(-50, 2));
+        assertThrows(IllegalArgumentException.class,
+            () -> SegmentedSieve.countPrimes(0, SegmentedSieve.MAX_LIMIT + 1));
+    }
+
+    private static long[] trialDivision(long from, long to) {
+        List<Long> primes = new ArrayList<>();
+        for (long n = Math.max(from, 2); n < to; n++) {
+            boolean prime = true;
+            for (long d = 2; d * d <= n; d++) {
+                if (n % d == 0) {
+                    prime = false;
+                    break;
+                }
+            }
+            if (prime) {
+                primes.add(n);
+            }
+        }
+        return primes.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,85 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelectionTest {
+
+    @Test
+    void testMatchesSortedRank() {
+        SplittableRandom random = new SplittableRandom(17);
+        for (int n : new int[] {1, 2, 15, 16, 17, 100, 15_000}) {
+            double[] values = random.doubles(n, -1e4, 1e4).toArray();
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+
+            for (int k : new int[] {0, n / 100, n / 20, n / 2, n - 1}) {
+                double[] copy = values.clone();
+                assertEquals(sorted[k], Selection.select(copy, 0, n, k), "n=" + n + " k=" + k);
+                for (int i = 0; i < k; i++) {
+                    assertTrue(copy[i] <= copy[k]);
+                }
+                for (int i = k + 1; i < n; i++) {
+                    assertTrue(copy[i] >= copy[k]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSecondSelectionInsideTheLowerPart() {
+        SplittableRandom random = new SplittableRandom(23);
+        double[] values = random.doubles(15_000).toArray();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(sorted[750], Selection.select(values, 0, 15_000, 750));
+        assertEquals(sorted[150], Selection.select(values, 0, 750, 150));
+    }
+
+    @Test
+    void testAdversarialInputs() {
+        int n = 20_000;
+        double[] ascending = new double[n];
+        double[] constant = new double[n];
+        double[] organPipe = new double[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            constant[i] = 7;
+            organPipe[i] = Math.min(i, n - i);
+        }
+
+        assertEquals(1000, Selection.select(ascending.clone(), 0, n, 1000));
+        assertEquals(7, Selection.select(constant, 0, n, 1000));
+        double[] sorted = organPipe.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted[n / 20], Selection.select(organPipe, 0, n, n / 20));
+    }
+
+    @Test
+    void testRejectsRankOutsideRange() {
+        double[] values = {3, 1, 2};
+        assertThrows(IllegalArgumentException.class, () -> Selection.select(values, 0, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> Selection.select(values, 1, 3, 0));
+    }
+
+    @Test
+    void testSelectAllMatchesSortedRanks() {
+        SplittableRandom random = new SplittableRandom(31);
+        double[] values = random.doubles(10_000).toArray();
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        int[] ranks = {500, 100, 9_999, 500, 0, 431};
+        double[] out = new double[ranks.length];
+        Selection.selectAll(values, values.length, ranks, out);
+
+        for (int i = 0; i < ranks.length; i++) {
+            assertEquals(sorted[ranks[i]], out[i], "Rank " + ranks[i]);
+        }
+    }
+}
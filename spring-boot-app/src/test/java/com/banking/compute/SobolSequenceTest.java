@@ -0,0 +1,90 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SobolSequenceTest {
+
+    @Test
+    void testPrimitivePolynomialSearch() {
+        int[] polynomials = SobolSequence.findPrimitivePolynomials(12);
+        // x+1, x^2+x+1, x^3+x+1, x^3+x^2+1, x^4+x+1, x^4+x^3+1, then the six of degree 5
+        assertArrayEquals(new int[] {3, 7, 11, 13, 19, 25, 37, 41, 47, 55, 59, 61}, polynomials);
+
+        // phi(2^d - 1) / d primitive polynomials of each degree
+        int[] expectedPerDegree = {0, 1, 1, 2, 2, 6, 6, 18, 16, 48, 60, 176};
+        for (int degree = 1; degree < expectedPerDegree.length; degree++) {
+            int count = 0;
+            for (int poly = (1 << degree) | 1; poly < (2 << degree); poly += 2) {
+                if (SobolSequence.isPrimitive(poly, degree)) {
+                    count++;
+                }
+            }
+            assertEquals(expectedPerDegree[degree], count, "Degree " + degree);
+        }
+        assertFalse(SobolSequence.isPrimitive(0b10101, 4)); // x^4+x^2+1 = (x^2+x+1)^2
+        assertFalse(SobolSequence.isPrimitive(0b11111, 4)); // irreducible, but x has order 5
+    }
+
+    @Test
+    void testEveryDimensionIsStratified() {
+        // Each one-dimensional projection of the first 2^k points puts one point in every 1/2^k cell
+        int dimensions = 100;
+        int points = 1 << 10;
+        SobolSequence sequence = SobolSequence.of(dimensions);
+        SobolSequence.Cursor cursor = sequence.cursor(0, new int[dimensions]);
+
+        boolean[][] seen = new boolean[dimensions][points];
+        double[] normals = new double[dimensions];
+        for (int i = 0; i < points; i++) {
+            cursor.nextNormals(normals);
+            for (int d = 0; d < dimensions; d++) {
+                double u = standardNormalCdf(normals[d]);
+                int cell = (int) Math.min(points - 1, Math.floor(u * points));
+                assertFalse(seen[d][cell], "Dimension " + d + " cell " + cell + " hit twice");
+                seen[d][cell] = true;
+            }
+        }
+    }
+
+    @Test
+    void testCursorCanStartAnywhere() {
+        SobolSequence sequence = SobolSequence.of(8);
+        int[] shifts = {1, 2, 3, 4, 5, 6, 7, 8};
+        SobolSequence.Cursor fromZero = sequence.cursor(0, shifts);
+        double[] expected = new double[8];
+        for (int i = 0; i < 777; i++) {
+            fromZero.nextNormals(expected);
+        }
+        fromZero.nextNormals(expected);
+
+        double[] actual = new double[8];
+        sequence.cursor(777, shifts).nextNormals(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testRejectsUnsupportedDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> SobolSequence.of(0));
+        assertThrows(IllegalArgumentException.class, () -> SobolSequence.of(SobolSequence.MAX_DIMENSIONS + 1));
+        assertSame(SobolSequence.of(SobolSequence.MAX_DIMENSIONS), SobolSequence.of(SobolSequence.MAX_DIMENSIONS));
+    }
+
+    /**
+     * Phi(z) by bisecting on the inverse, so cell boundaries match the quantile exactly
+     */
+    private static double standardNormalCdf(double z) {
+        double lo = 0;
+        double hi = 1;
+        for (int i = 0; i < 60; i++) {
+            double mid = (lo + hi) / 2;
+            if (NormalQuantile.inverse(mid) < z) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return (lo + hi) / 2;
+    }
+}
@@ -0,0 +1,81 @@
+package com.banking.compute;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZigguratGaussianTest {
+
+    private static final int SAMPLES = 2_000_000;
+
+    @Test
+    void testMomentsMatchStandardNormal() {
+        SplittableRandom random = new SplittableRandom(2024);
+        double sum = 0, sum2 = 0, sum3 = 0, sum4 = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double z = ZigguratGaussian.next(random);
+            double z2 = z * z;
+            sum += z;
+            sum2 += z2;
+            sum3 += z2 * z;
+            sum4 += z2 * z2;
+        }
+        double se = 1.0 / Math.sqrt(SAMPLES);
+
+        assertEquals(0.0, sum / SAMPLES, 5 * se);
+        assertEquals(1.0, sum2 / SAMPLES, 5 * Math.sqrt(2) * se);
+        assertEquals(0.0, sum3 / SAMPLES, 5 * Math.sqrt(15) * se);
+        assertEquals(3.0, sum4 / SAMPLES, 5 * Math.sqrt(96) * se);
+    }
+
+    @Test
+    void testQuantilesMatchNormalCdf() {
+        // Upper-tail probabilities of N(0, 1); the last two exercise the layer edges and the tail
+        double[] thresholds = {0.0, 1.0, 1.959963985, 2.5, 3.442619855899, 4.0};
+        double[] expected = {0.5, 0.158655254, 0.025, 0.006209665, 2.8805e-4, 3.16712e-5};
+        long[] counts = new long[thresholds.length];
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < SAMPLES; i++) {
+            double z = ZigguratGaussian.next(random);
+            for (int t = 0; t < thresholds.length; t++) {
+                if (z > thresholds[t]) {
+                    counts[t]++;
+                }
+            }
+        }
+
+        for (int t = 0; t < thresholds.length; t++) {
+            double p = expected[t];
+            double sd = Math.sqrt(p * (1 - p) / SAMPLES);
+            assertEquals(p, (double) counts[t] / SAMPLES, 5 * sd + 1e-6, "P(z > " + thresholds[t] + ")");
+        }
+    }
+
+    @Test
+    void testLowerTailIsSymmetric() {
+        SplittableRandom random = new SplittableRandom(99);
+        long below = 0;
+        long above = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double z = ZigguratGaussian.next(random);
+            if (z < -3) below++;
+            if (z > 3) above++;
+        }
+        // P(|z| > 3) = 0.0027, split evenly
+        double expected = 0.0013499 * SAMPLES;
+        assertEquals(expected, below, 5 * Math.sqrt(expected));
+        assertEquals(expected, above, 5 * Math.sqrt(expected));
+    }
+
+    @Test
+    void testSameGeneratorStateGivesSameDraws() {
+        SplittableRandom a = new SplittableRandom(5);
+        SplittableRandom b = new SplittableRandom(5);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(ZigguratGaussian.next(a), ZigguratGaussian.next(b));
+        }
+    }
+}
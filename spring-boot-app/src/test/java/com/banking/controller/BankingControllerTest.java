@@ -2,14 +2,20 @@ package com.banking.controller;
 
 import com.banking.model.Account;
 import com.banking.service.BankingService;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -17,6 +23,8 @@ import java.math.BigDecimal;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -132,12 +140,29 @@ class BankingControllerTest {
                 .andExpect(jsonPath("$.standardDeviation").exists())
                 .andExpect(jsonPath("$.var95").exists())
                 .andExpect(jsonPath("$.var99").exists())
+                .andExpect(jsonPath("$.pathsUsed").value(15000))
+                .andExpect(jsonPath("$.achievedError").isNumber())
                 .andExpect(jsonPath("$.computationTimeMs").exists());
         
         long duration = System.currentTimeMillis() - startTime;
         System.out.println("Risk analysis endpoint test passed in " + duration + "ms");
     }
 
+    @Test
+    void testAdaptiveRiskAnalysisEndpoint() throws Exception {
+        mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId() + "/risk-analysis")
+                        .param("precision", "0.05")
+                        .param("maxPaths", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pathsUsed").value(lessThanOrEqualTo(100000), Integer.class))
+                .andExpect(jsonPath("$.achievedError").value(lessThanOrEqualTo(0.05), Double.class));
+        
+        mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId() + "/risk-analysis")
+                        .param("precision", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
     @Test
     void testPortfolioOptimizationEndpoint() throws Exception {
         long startTime = System.currentTimeMillis();
@@ -187,6 +212,81 @@ class BankingControllerTest {
         System.out.println("Distributed prime search endpoint test passed in " + duration + "ms");
     }
 
+    @Test
+    void testDistributedPrimeSearchWithPrimes() throws Exception {
+        mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId() + "/distributed-prime-search?rangeSize=1200&includePrimes=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPrimes").exists())
+                .andExpect(jsonPath("$.primes").isArray());
+        
+        System.out.println("Distributed prime search with primes endpoint test passed");
+    }
+
+    @Test
+    void testStreamingPrimeSearchEndpoint() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId()
+                        + "/distributed-prime-search/stream?start=0&rangeSize=1100000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        
+        String[] lines = body.split("\n");
+        assertTrue(lines.length >= 3, "Expected several windows plus a summary line");
+        assertTrue(lines[0].startsWith("{\"from\":0,"));
+        assertTrue(lines[lines.length - 1].contains("\"totalPrimes\":85714"));
+        
+        System.out.println("Streaming prime search endpoint test passed with " + (lines.length - 1) + " windows");
+    }
+
+    @Test
+    void testStreamingPrimeSearchStopsWhenRequestTimesOut() throws Exception {
+        // Hours of sieving if nothing stopped it
+        MvcResult result = mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId()
+                        + "/distributed-prime-search/stream?start=0&rangeSize=1000000000000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+        while (response.getContentAsByteArray().length == 0) {
+            Thread.sleep(10);
+        }
+        
+        AsyncContext asyncContext = result.getRequest().getAsyncContext();
+        for (AsyncListener listener : ((MockAsyncContext) asyncContext).getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        
+        // Once the streaming thread is interrupted no further window is written
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        int written = -1;
+        for (int settled = 0; settled < 5; ) {
+            assertTrue(System.nanoTime() < deadline, "Stream kept sieving after the request timed out");
+            Thread.sleep(100);
+            int length = response.getContentAsByteArray().length;
+            settled = length == written ? settled + 1 : 0;
+            written = length;
+        }
+        assertFalse(response.getContentAsString().contains("totalPrimes"));
+        
+        System.out.println("Streaming prime search stopped after " + written + " bytes on timeout");
+    }
+    
+    @Test
+    void testStreamingPrimeSearchRejectsInvalidRange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/accounts/" + testAccount.getAccountId()
+                        + "/distributed-prime-search/stream?start=0&rangeSize=-5"))
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        
+        System.out.println("Streaming prime search invalid range test passed");
+    }
+
     @Test
     void testHealthEndpoint() throws Exception {
         mockMvc.perform(get("/actuator/health"))
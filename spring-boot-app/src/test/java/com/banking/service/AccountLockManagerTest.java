@@ -0,0 +1,197 @@
+package com.banking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLockManagerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AccountLockManager locks = new AccountLockManager(16, Duration.ofSeconds(5), registry);
+
+    @Test
+    void testRejectsBadConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockManager(12, Duration.ofSeconds(1), registry));
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockManager(0, Duration.ofSeconds(1), registry));
+        assertThrows(IllegalArgumentException.class, () -> new AccountLockManager(8, Duration.ZERO, registry));
+    }
+
+    @Test
+    void testSequentialIdsSpreadOverStripes() {
+        int[] perStripe = new int[locks.stripeCount()];
+        for (long id = 1; id <= 1600; id++) {
+            perStripe[locks.stripeOf(id)]++;
+        }
+        for (int count : perStripe) {
+            assertTrue(count > 50 && count < 150, "Uneven stripes: " + java.util.Arrays.toString(perStripe));
+        }
+    }
+
+    @Test
+    void testAccountsSharingAStripeLockOnce() {
+        long first = 1;
+        long second = 2;
+        while (locks.stripeOf(second) != locks.stripeOf(first)) {
+            second++;
+        }
+        long other = second;
+        assertEquals("done", locks.withAccountLocks(first, other, () -> "done"));
+        assertEquals("done", locks.withAccountLocks(first, first, () -> "done"));
+    }
+
+    @Test
+    void testDisjointStripesRunInParallel() throws Exception {
+        long[] ids = disjointIds(4);
+        CountDownLatch bothInside = new CountDownLatch(2);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> left = pool.submit(() -> locks.withAccountLocks(ids[0], ids[1], () -> meet(bothInside)));
+            Future<Boolean> right = pool.submit(() -> locks.withAccountLocks(ids[2], ids[3], () -> meet(bothInside)));
+
+            assertTrue(left.get(5, TimeUnit.SECONDS), "Disjoint transfers did not overlap");
+            assertTrue(right.get(5, TimeUnit.SECONDS), "Disjoint transfers did not overlap");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSharedAccountSerialisesAndCountsContention() throws Exception {
+        long[] ids = disjointIds(3);
+        int sharedStripe = locks.stripeOf(ids[1]);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> holder = pool.submit(() -> locks.withAccountLocks(ids[0], ids[1], () -> {
+                holding.countDown();
+                return awaitQuietly(release);
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+            Future<String> waiter = pool.submit(() -> locks.withAccountLocks(ids[1], ids[2], () -> "ran"));
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (contended(sharedStripe) == 0) {
+                assertTrue(System.nanoTime() < deadline, "Contention was not recorded");
+                Thread.sleep(5);
+            }
+            assertFalse(waiter.isDone(), "Second transfer ran while the shared account was locked");
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+            assertEquals("ran", waiter.get(5, TimeUnit.SECONDS));
+            assertEquals(1.0, contended(sharedStripe));
+            assertEquals(1, registry.get("banking.account.lock.wait").timer().count());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGivesUpAfterTimeout() throws Exception {
+        AccountLockManager impatient = new AccountLockManager(16, Duration.ofMillis(100), new SimpleMeterRegistry());
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> impatient.withAccountLocks(1L, 2L, () -> {
+                holding.countDown();
+                return awaitQuietly(release);
+            }));
+            assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+            RuntimeException e = assertThrows(RuntimeException.class, () -> impatient.withAccountLocks(2L, 3L, () -> "ran"));
+            assertEquals("Timed out waiting for account lock", e.getMessage());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOppositeOrderStressNeitherDeadlocksNorLosesUpdates() throws Exception {
+        // Unsynchronised balances: only the stripe locks keep the read-modify-write safe
+        int accounts = 12;
+        long[] balances = new long[accounts];
+        java.util.Arrays.fill(balances, 1000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] workers = new Future<?>[8];
+            for (int t = 0; t < workers.length; t++) {
+                SplittableRandom random = new SplittableRandom(t);
+                workers[t] = pool.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        int from = random.nextInt(accounts);
+                        int to = random.nextInt(accounts);
+                        long amount = random.nextLong(1, 50);
+                        locks.withAccountLocks((long) from, (long) to, () -> {
+                            if (balances[from] >= amount) {
+                                balances[from] -= amount;
+                                balances[to] += amount;
+                            }
+                            return null;
+                        });
+                    }
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long total = 0;
+        for (long balance : balances) {
+            assertTrue(balance >= 0);
+            total += balance;
+        }
+        assertEquals(accounts * 1000L, total);
+    }
+
+    private long[] disjointIds(int count) {
+        long[] ids = new long[count];
+        boolean[] used = new boolean[locks.stripeCount()];
+        long candidate = 1;
+        for (int i = 0; i < count; i++) {
+            while (used[locks.stripeOf(candidate)]) {
+                candidate++;
+            }
+            used[locks.stripeOf(candidate)] = true;
+            ids[i] = candidate;
+        }
+        return ids;
+    }
+
+    private double contended(int stripe) {
+        return registry.get("banking.account.lock.contended").tag("stripe", Integer.toString(stripe)).counter().count();
+    }
+
+    /**
+     * Arrives at latch and waits for the other parties, as a two-thread rendezvous
+     */
+    private static boolean meet(CountDownLatch latch) {
+        latch.countDown();
+        return awaitQuietly(latch);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -95,12 +95,12 @@ class BankingServiceTest {
         assertEquals(transferAmount, transaction.getAmount());
         assertEquals("TRANSFER", transaction.getTransactionType());
         
-        // Verify balances updated
+        // Verify balances updated (re-read from the database, so compare values, not scale)
         BigDecimal fromBalance = bankingService.getBalance(fromAccount.getAccountId());
         BigDecimal toBalance = bankingService.getBalance(toAccount.getAccountId());
         
-        assertEquals(BigDecimal.valueOf(700), fromBalance);
-        assertEquals(BigDecimal.valueOf(800), toBalance);
+        assertEquals(0, BigDecimal.valueOf(700).compareTo(fromBalance));
+        assertEquals(0, BigDecimal.valueOf(800).compareTo(toBalance));
         
         System.out.println("Transfer successful: " + transferAmount + " from " + fromAccount.getAccountId() + " to " + toAccount.getAccountId());
     }
@@ -1,10 +1,14 @@
 package com.banking.service;
 
+import com.banking.compute.PathBackend;
+import com.banking.compute.PathModel;
+import com.banking.compute.VarianceReduction;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -51,6 +55,7 @@ class ComputationalServiceTest {
         assertTrue(result.expectedValue > 0);
         assertTrue(result.standardDeviation >= 0);
         assertTrue(result.computationTimeNanos > 0);
+        assertEquals(15000, result.pathsUsed);
         
         System.out.println("Risk assessment (15,000 simulations) completed in " + duration + "ms");
         System.out.println("  Expected Value: " + result.expectedValue);
@@ -59,6 +64,147 @@ class ComputationalServiceTest {
         System.out.println("  VaR 99%: " + result.var99);
     }
 
+    @Test
+    void testRiskAssessmentWithCustomPathModel() {
+        PathModel shortWalk = PathModel.of(25, PathModel.Drift.NONE);
+        
+        ComputationalService.RiskAssessment result = computationalService.calculateRiskAssessment(54321L, 10000.0, shortWalk, 7L);
+        
+        assertTrue(result.expectedValue > 0);
+        assertTrue(result.var99 <= result.var95);
+        assertTrue(result.var95 <= result.expectedValue);
+        System.out.println("Risk assessment (25-step driftless walk): mean " + result.expectedValue + ", VaR95 " + result.var95);
+    }
+    
+    @Test
+    void testRiskAssessmentIsReproducibleForASeed() {
+        ComputationalService.RiskAssessment first = computationalService.calculateRiskAssessment(777L, 25000.0, 42L);
+        ComputationalService.RiskAssessment second = computationalService.calculateRiskAssessment(777L, 25000.0, 42L);
+        ComputationalService.RiskAssessment otherSeed = computationalService.calculateRiskAssessment(777L, 25000.0, 43L);
+        
+        assertEquals(first.expectedValue, second.expectedValue);
+        assertEquals(first.standardDeviation, second.standardDeviation);
+        assertEquals(first.var95, second.var95);
+        assertEquals(first.var99, second.var99);
+        assertNotEquals(first.expectedValue, otherSeed.expectedValue);
+    }
+    
+    @Test
+    void testFraudCheckIsReproducible() {
+        ComputationalService.FraudCheckResult first = computationalService.performFraudCheck(31337L, BigDecimal.valueOf(2500));
+        ComputationalService.FraudCheckResult second = computationalService.performFraudCheck(31337L, BigDecimal.valueOf(2500));
+        
+        assertEquals(first.anomalyScore, second.anomalyScore);
+        assertEquals(first.mlScore, second.mlScore);
+        assertEquals(first.suspicious, second.suspicious);
+    }
+    
+    @Test
+    void testAdaptiveRiskAssessmentStopsAtRequestedPrecision() {
+        ComputationalService.RiskOptions base = ComputationalService.RiskOptions.DEFAULT.withSeed(11L);
+        
+        ComputationalService.RiskAssessment loose = computationalService.calculateRiskAssessment(
+            2024L, 10000.0, base.adaptive(0.1, 200_000));
+        ComputationalService.RiskAssessment tight = computationalService.calculateRiskAssessment(
+            2024L, 10000.0, base.adaptive(0.03, 200_000));
+        
+        assertTrue(loose.achievedError <= 0.1);
+        assertTrue(tight.achievedError <= 0.03);
+        assertTrue(loose.pathsUsed < tight.pathsUsed, loose.pathsUsed + " vs " + tight.pathsUsed);
+        System.out.println("Adaptive risk: 10% needed " + loose.pathsUsed + " paths, 3% needed " + tight.pathsUsed);
+    }
+    
+    @Test
+    void testAdaptiveRiskAssessmentRespectsPathCap() {
+        ComputationalService.RiskAssessment capped = computationalService.calculateRiskAssessment(
+            2024L, 10000.0, ComputationalService.RiskOptions.DEFAULT.withSeed(11L).adaptive(1e-6, 10_000));
+        
+        assertEquals(10_000, capped.pathsUsed);
+        assertTrue(capped.achievedError > 1e-6);
+        assertThrows(IllegalArgumentException.class,
+            () -> ComputationalService.RiskOptions.DEFAULT.adaptive(0.0, 10_000));
+        assertThrows(IllegalArgumentException.class,
+            () -> ComputationalService.RiskOptions.DEFAULT.adaptive(0.01, 0));
+    }
+    
+    @Test
+    void testBlockBackendMatchesScalarBackend() {
+        for (VarianceReduction technique : VarianceReduction.values()) {
+            ComputationalService.RiskOptions options = ComputationalService.RiskOptions.DEFAULT
+                .withSeed(11L)
+                .withVarianceReduction(technique);
+            
+            ComputationalService.RiskAssessment scalar =
+                computationalService.calculateRiskAssessment(77L, 10000.0, options.withBackend(PathBackend.SCALAR));
+            ComputationalService.RiskAssessment block =
+                computationalService.calculateRiskAssessment(77L, 10000.0, options.withBackend(PathBackend.BLOCK));
+            
+            System.out.println(technique + " scalar: " + scalar.computationTimeNanos / 1_000_000 + "ms, block: "
+                + block.computationTimeNanos / 1_000_000 + "ms");
+            assertEquals(scalar.pathsUsed, block.pathsUsed);
+            assertEquals(scalar.expectedValue, block.expectedValue, 1e-6, technique.name());
+            assertEquals(scalar.standardDeviation, block.standardDeviation, 1e-6, technique.name());
+            assertEquals(scalar.var95, block.var95, 1e-6, technique.name());
+            assertEquals(scalar.var99, block.var99, 1e-6, technique.name());
+        }
+    }
+    
+    @Test
+    void testSobolBeyondDirectionNumbersIsRejectedBeforeComputing() {
+        ComputationalService.RiskOptions sobol = ComputationalService.RiskOptions.DEFAULT
+            .withVarianceReduction(VarianceReduction.SOBOL);
+        ComputationalService.RiskOptions tooLong = sobol.withPathModel(PathModel.of(2000, PathModel.Drift.NONE));
+        
+        assertSame(sobol, computationalService.checkRiskOptions(sobol));
+        assertThrows(IllegalArgumentException.class, () -> computationalService.checkRiskOptions(tooLong));
+        assertThrows(IllegalArgumentException.class,
+            () -> computationalService.calculateRiskAssessment(4242L, 10000.0, tooLong));
+    }
+    
+    @Test
+    void testVarianceReductionErrorCurves() {
+        // Empirical error of the mean estimate: spread across independent seeds at each path count
+        int[] pathCounts = {2000, 8000, 32000};
+        int seeds = 8;
+        double[][] spread = new double[VarianceReduction.values().length][pathCounts.length];
+        double[] meanAtMax = new double[VarianceReduction.values().length];
+        
+        System.out.println("Risk mean error vs paths (std dev over " + seeds + " seeds):");
+        for (VarianceReduction technique : VarianceReduction.values()) {
+            StringBuilder row = new StringBuilder(String.format("  %-16s", technique));
+            for (int p = 0; p < pathCounts.length; p++) {
+                double sum = 0;
+                double sumSquares = 0;
+                for (int seed = 1; seed <= seeds; seed++) {
+                    ComputationalService.RiskOptions options = ComputationalService.RiskOptions.DEFAULT
+                        .withSeed(seed)
+                        .withVarianceReduction(technique)
+                        .adaptive(1e-9, pathCounts[p]);
+                    double mean = computationalService.calculateRiskAssessment(4242L, 10000.0, options).expectedValue;
+                    sum += mean;
+                    sumSquares += mean * mean;
+                }
+                double average = sum / seeds;
+                spread[technique.ordinal()][p] = Math.sqrt(Math.max(0, (sumSquares - seeds * average * average) / (seeds - 1)));
+                if (p == pathCounts.length - 1) {
+                    meanAtMax[technique.ordinal()] = average;
+                }
+                row.append(String.format("  %6d paths: %9.2f", pathCounts[p], spread[technique.ordinal()][p]));
+            }
+            System.out.println(row);
+        }
+        
+        for (VarianceReduction technique : VarianceReduction.values()) {
+            double[] curve = spread[technique.ordinal()];
+            assertTrue(curve[pathCounts.length - 1] < curve[0], technique + " error did not fall with more paths");
+            // Every technique estimates the same mean
+            double tolerance = 5 * Math.hypot(curve[pathCounts.length - 1], spread[0][pathCounts.length - 1]) / Math.sqrt(seeds);
+            assertEquals(meanAtMax[0], meanAtMax[technique.ordinal()], tolerance, technique + " is biased");
+        }
+        int last = pathCounts.length - 1;
+        assertTrue(spread[VarianceReduction.CONTROL_VARIATE.ordinal()][last] < spread[VarianceReduction.NONE.ordinal()][last]);
+    }
+    
     @Test
     void testPortfolioOptimizationParallel() {
         Long accountId = 99999L;
@@ -100,11 +246,25 @@ class ComputationalServiceTest {
         assertEquals(result.totalPrimes, result.primes.size());
         assertTrue(result.computationTimeNanos > 0);
         
-        System.out.println("Distributed prime search (12 parallel threads, range=" + rangeSize + ") completed in " + duration + "ms");
+        System.out.println("Distributed prime search (fork/join, range=" + rangeSize + ") completed in " + duration + "ms");
         System.out.println("  Total Primes Found: " + result.totalPrimes);
         System.out.println("  Primes/sec: " + (result.totalPrimes / (duration / 1000.0)));
     }
 
+    @Test
+    void testDistributedPrimeCountMatchesSearch() {
+        Long accountId = 11111L;
+        int rangeSize = 50000;
+        
+        ComputationalService.DistributedPrimeResult listed = computationalService.distributedPrimeSearch(accountId, rangeSize);
+        ComputationalService.DistributedPrimeResult counted = computationalService.distributedPrimeCount(accountId, rangeSize);
+        
+        assertEquals(listed.totalPrimes, counted.totalPrimes);
+        assertTrue(counted.primes.isEmpty());
+        
+        System.out.println("Count-only prime search completed in " + counted.computationTimeNanos / 1_000_000.0 + "ms");
+    }
+
     @Test
     void testMultipleConcurrentFraudChecks() throws InterruptedException {
         // Test thread contention by running multiple fraud checks concurrently
@@ -138,4 +298,69 @@ class ComputationalServiceTest {
         assertNotNull(result);
         System.out.println("Account " + accountId + " prime check: " + result);
     }
+
+    @Test
+    void testIsPrimeInsideAndBeyondPrimeTable() {
+        assertFalse(computationalService.isPrime(1));
+        assertTrue(computationalService.isPrime(2));
+        assertTrue(computationalService.isPrime(104729));
+        assertFalse(computationalService.isPrime(104729L * 3));
+        
+        // Beyond the shared prime table (Miller-Rabin)
+        assertTrue(computationalService.isPrime(1_000_000_007L));
+        assertFalse(computationalService.isPrime(1_000_000_007L * 3));
+        assertTrue(computationalService.isPrime(9_223_372_036_854_775_783L));
+    }
+    
+    @Test
+    void testMLInferenceAllocatesAlmostNothingPerCall() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        
+        // Warm up so the kernels are compiled and the arena holds its buffers
+        for (int i = 0; i < 2000; i++) {
+            computationalService.simulateMLInference(42L + i, 5000.0);
+        }
+        
+        int calls = 200;
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            computationalService.simulateMLInference(42L + i, 5000.0);
+        }
+        long perCall = (threads.getThreadAllocatedBytes(threadId) - before) / calls;
+        
+        System.out.println("ML inference allocated " + perCall + " bytes per call");
+        // Three fresh 50x50 double matrices would be 60,000 bytes
+        assertTrue(perCall < 2048, "Allocated " + perCall + " bytes per call");
+    }
+    
+    @Test
+    void testRiskAssessmentAllocationPerCall() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        
+        for (int i = 0; i < 20; i++) {
+            computationalService.calculateRiskAssessment(54321L, 10000.0);
+        }
+        
+        int calls = 10;
+        long before = totalAllocatedBytes(threads);
+        for (int i = 0; i < calls; i++) {
+            computationalService.calculateRiskAssessment(54321L, 10000.0);
+        }
+        long perCall = (totalAllocatedBytes(threads) - before) / calls;
+        
+        System.out.println("Risk assessment allocated " + perCall + " bytes per call across all threads");
+        // Per-thread result arrays plus the merge array used to be ~240,000 bytes
+        assertTrue(perCall < 64 * 1024, "Allocated " + perCall + " bytes per call");
+    }
+    
+    private static long totalAllocatedBytes(com.sun.management.ThreadMXBean threads) {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
 }
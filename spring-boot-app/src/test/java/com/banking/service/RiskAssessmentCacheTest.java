@@ -0,0 +1,202 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+
+// Not @Transactional: invalidation only happens when a transfer really commits
+@SpringBootTest(properties = {"risk.cache.max-entries=3", "risk.cache.ttl=PT1M"})
+@ActiveProfiles("test")
+class RiskAssessmentCacheTest {
+
+    @SpyBean
+    private ComputationalService computationalService;
+
+    @Autowired
+    private RiskAssessmentCache cache;
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Account source;
+    private Account target;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        source = bankingService.createAccount("Source", BigDecimal.valueOf(5000));
+        target = bankingService.createAccount("Target", BigDecimal.valueOf(1000));
+    }
+
+    @AfterEach
+    void restoreClock() {
+        cache.setTicker(System::nanoTime);
+    }
+
+    @Test
+    void testRepeatAnalysisIsServedFromCache() {
+        double hits = count("hit");
+        double misses = count("miss");
+
+        ComputationalService.RiskAssessment first = cache.get(reload(source), options(1));
+        ComputationalService.RiskAssessment second = cache.get(reload(source), options(1));
+
+        assertSame(first, second);
+        assertEquals(misses + 1, count("miss"));
+        assertEquals(hits + 1, count("hit"));
+        System.out.println("Computed in " + first.computationTimeNanos / 1_000_000 + "ms, then served from cache");
+    }
+
+    @Test
+    void testCommittedTransferInvalidatesBothAccounts() {
+        ComputationalService.RiskAssessment before = cache.get(reload(source), options(1));
+        cache.get(reload(target), options(1));
+        int size = cache.size();
+
+        bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(500));
+
+        assertEquals(size - 2, cache.size());
+        Account updated = reload(source);
+        assertEquals(source.getBalanceVersion() + 1, updated.getBalanceVersion());
+        double misses = count("miss");
+        ComputationalService.RiskAssessment after = cache.get(updated, options(1));
+        assertEquals(misses + 1, count("miss"));
+        assertNotEquals(before.expectedValue, after.expectedValue);
+    }
+
+    @Test
+    void testLargeTransferReturnsBeforeItIsAssessed() throws InterruptedException {
+        // Hold the post-commit assessment until the transfer has returned
+        CountDownLatch assessing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            assessing.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS), "Assessment was never released");
+            return invocation.callRealMethod();
+        }).when(computationalService).calculateRiskAssessment(anyLong(), anyDouble(), any(ComputationalService.RiskOptions.class));
+        double refreshed = refreshes();
+        double misses = count("miss");
+
+        long start = System.nanoTime();
+        bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(2500));
+        long transferMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(assessing.await(10, TimeUnit.SECONDS), "Post-commit risk refresh never started");
+        assertEquals(refreshed, refreshes(), "The refresh finished before the transfer returned");
+        release.countDown();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (refreshes() == refreshed) {
+            assertTrue(System.nanoTime() < deadline, "Post-commit risk refresh never ran");
+            Thread.sleep(10);
+        }
+        assertEquals(misses + 1, count("miss"));
+
+        // The refresh assessed the committed balance, so the next read is a hit
+        double hits = count("hit");
+        cache.get(reload(source), ComputationalService.RiskOptions.DEFAULT);
+        assertEquals(hits + 1, count("hit"));
+        assertEquals(misses + 1, count("miss"));
+        System.out.println("Large transfer returned in " + transferMillis + "ms while its assessment was held");
+    }
+
+    @Test
+    void testRolledBackTransferKeepsEntries() {
+        ComputationalService.RiskAssessment before = cache.get(reload(source), options(1));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(500));
+            status.setRollbackOnly();
+        });
+
+        Account unchanged = reload(source);
+        assertEquals(source.getBalanceVersion(), unchanged.getBalanceVersion());
+        assertSame(before, cache.get(unchanged, options(1)));
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedBeyondCapacity() {
+        Account account = reload(source);
+        cache.get(account, options(1));
+        cache.get(account, options(2));
+        cache.get(account, options(3));
+        cache.get(account, options(1));
+
+        cache.get(account, options(4));
+
+        assertEquals(3, cache.size());
+        double misses = count("miss");
+        cache.get(account, options(1));
+        assertEquals(misses, count("miss"), "Recently used entry was evicted");
+        cache.get(account, options(2));
+        assertEquals(misses + 1, count("miss"), "Least recently used entry was kept");
+    }
+
+    @Test
+    void testExpiredEntriesAreRecomputed() {
+        AtomicLong now = new AtomicLong();
+        cache.setTicker(now::get);
+        Account account = reload(source);
+        ComputationalService.RiskAssessment first = cache.get(account, options(1));
+
+        now.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertSame(first, cache.get(account, options(1)));
+
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        double misses = count("miss");
+        ComputationalService.RiskAssessment recomputed = cache.get(account, options(1));
+        assertNotSame(first, recomputed);
+        assertEquals(misses + 1, count("miss"));
+        assertEquals(first.expectedValue, recomputed.expectedValue);
+    }
+
+    private Account reload(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow();
+    }
+
+    private static ComputationalService.RiskOptions options(long seed) {
+        return ComputationalService.RiskOptions.DEFAULT.withSeed(seed);
+    }
+
+    private double refreshes() {
+        return meterRegistry.get("risk.refresh").tag("result", "completed").counter().count();
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("risk.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,277 @@
+package com.banking.service;
+
+import com.banking.model.Account;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Not @Transactional: the point is what transferMoney holds on its own
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferPipelineTest {
+
+    /** Scoring is padded to this long so connection hold times can be told apart from it */
+    private static final long SCORING_DELAY_MS = 300;
+
+    @SpyBean
+    private ComputationalService computationalService;
+
+    @Autowired
+    private BankingService bankingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Account source;
+    private Account target;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        source = bankingService.createAccount("Source", BigDecimal.valueOf(1000));
+        target = bankingService.createAccount("Target", BigDecimal.valueOf(0));
+    }
+
+    @Test
+    void testNoTransactionOrConnectionHeldWhileScoring() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        AtomicBoolean transactionActive = new AtomicBoolean(true);
+        AtomicInteger activeConnections = new AtomicInteger(-1);
+        doAnswer(invocation -> {
+            transactionActive.set(TransactionSynchronizationManager.isActualTransactionActive());
+            activeConnections.set(pool.getActiveConnections());
+            Thread.sleep(SCORING_DELAY_MS);
+            return invocation.callRealMethod();
+        }).when(computationalService).performFraudCheck(anyLong(), any());
+
+        Timer usage = meterRegistry.get("hikaricp.connections.usage").timer();
+        double heldBefore = usage.totalTime(TimeUnit.MILLISECONDS);
+        long borrowsBefore = usage.count();
+        long start = System.nanoTime();
+
+        bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(400));
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        double heldMs = usage.totalTime(TimeUnit.MILLISECONDS) - heldBefore;
+        long borrows = usage.count() - borrowsBefore;
+        System.out.printf("Transfer took %dms; %d connection borrows held %.1fms in total%n", elapsedMs, borrows, heldMs);
+
+        assertFalse(transactionActive.get(), "Fraud scoring ran inside a transaction");
+        assertEquals(0, activeConnections.get(), "A connection was checked out during fraud scoring");
+        assertTrue(elapsedMs >= SCORING_DELAY_MS);
+        assertTrue(heldMs < SCORING_DELAY_MS, "Connections were held for " + heldMs + "ms");
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(
+            accountRepository.findById(source.getAccountId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void testWriteStageRechecksBalanceChangedDuringScoring() {
+        // Another transfer drains the account while this one is being scored
+        doAnswer(invocation -> {
+            Account drained = accountRepository.findById(source.getAccountId()).orElseThrow();
+            drained.setBalance(BigDecimal.valueOf(100));
+            drained.setBalanceVersion(drained.getBalanceVersion() + 1);
+            accountRepository.save(drained);
+            return invocation.callRealMethod();
+        }).when(computationalService).performFraudCheck(anyLong(), any());
+
+        double writeRejections = rejected(BankingService.STAGE_WRITE);
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+            bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(400)));
+
+        assertEquals("Insufficient balance", exception.getMessage());
+        assertEquals(1.0, rejected(BankingService.STAGE_WRITE) - writeRejections);
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+            accountRepository.findById(target.getAccountId()).orElseThrow().getBalance()));
+        assertTrue(transactionRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void testConcurrentDebitsNeverOverdraw() throws InterruptedException {
+        // Twenty transfers of 100 race for a balance of 1000: exactly ten can succeed
+        int transfers = 20;
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        for (int i = 0; i < transfers; i++) {
+            callers.execute(() -> {
+                try {
+                    start.await();
+                    bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.valueOf(100));
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if ("Insufficient balance".equals(e.getMessage())) {
+                        insufficient.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(10, succeeded.get());
+        assertEquals(10, insufficient.get());
+        Account drained = accountRepository.findById(source.getAccountId()).orElseThrow();
+        Account credited = accountRepository.findById(target.getAccountId()).orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(drained.getBalance()));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(credited.getBalance()));
+        assertEquals(10, drained.getBalanceVersion());
+        assertEquals(10, transactionRepository.findAll().size());
+    }
+
+    @Test
+    void testOppositeTransfersDoNotDeadlock() throws InterruptedException {
+        Account other = bankingService.createAccount("Other", BigDecimal.valueOf(1000));
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        AtomicInteger failures = new AtomicInteger();
+        for (int i = 0; i < 40; i++) {
+            boolean forward = i % 2 == 0;
+            callers.execute(() -> {
+                try {
+                    if (forward) {
+                        bankingService.transferMoney(source.getAccountId(), other.getAccountId(), BigDecimal.ONE);
+                    } else {
+                        bankingService.transferMoney(other.getAccountId(), source.getAccountId(), BigDecimal.ONE);
+                    }
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(60, TimeUnit.SECONDS), "Opposite transfers stalled");
+
+        assertEquals(0, failures.get());
+        BigDecimal total = accountRepository.findById(source.getAccountId()).orElseThrow().getBalance()
+            .add(accountRepository.findById(other.getAccountId()).orElseThrow().getBalance());
+        assertEquals(0, BigDecimal.valueOf(2000).compareTo(total));
+    }
+
+    @Test
+    void testRandomTransferStressConservesTotalBalance() throws InterruptedException {
+        int accounts = 8;
+        Long[] ids = new Long[accounts];
+        ids[0] = source.getAccountId();
+        ids[1] = target.getAccountId();
+        for (int i = 2; i < accounts; i++) {
+            ids[i] = bankingService.createAccount("Stress " + i, BigDecimal.valueOf(1000)).getAccountId();
+        }
+        BigDecimal before = totalBalance(ids);
+        
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        AtomicInteger succeeded = new AtomicInteger();
+        for (int t = 0; t < 8; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            callers.execute(() -> {
+                for (int i = 0; i < 25; i++) {
+                    int from = random.nextInt(accounts);
+                    int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                    try {
+                        bankingService.transferMoney(ids[from], ids[to], BigDecimal.valueOf(random.nextInt(1, 400)));
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // Insufficient balance is expected; the totals below are what matters
+                    }
+                }
+            });
+        }
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(120, TimeUnit.SECONDS));
+
+        assertEquals(0, before.compareTo(totalBalance(ids)), "Money was created or destroyed");
+        for (Long id : ids) {
+            assertTrue(accountRepository.findById(id).orElseThrow().getBalance().signum() >= 0);
+        }
+        assertEquals(succeeded.get(), transactionRepository.findAll().size());
+        System.out.println("Stress: " + succeeded.get() + " of 200 transfers succeeded, total " + totalBalance(ids));
+    }
+
+    @Test
+    void testCheapStagesRejectBeforeScoring() {
+        Long from = source.getAccountId();
+        Long to = target.getAccountId();
+        double input = rejected(BankingService.STAGE_INPUT);
+        double existence = rejected(BankingService.STAGE_EXISTENCE);
+        double balance = rejected(BankingService.STAGE_BALANCE);
+
+        assertThrows(IllegalArgumentException.class, () -> bankingService.transferMoney(from, from, BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class, () -> bankingService.transferMoney(from, to, null));
+        assertThrows(RuntimeException.class, () -> bankingService.transferMoney(999_999L, to, BigDecimal.TEN));
+        assertThrows(RuntimeException.class, () -> bankingService.transferMoney(from, 999_999L, BigDecimal.TEN));
+        assertThrows(RuntimeException.class, () -> bankingService.transferMoney(from, to, BigDecimal.valueOf(5000)));
+
+        verify(computationalService, never()).performFraudCheck(anyLong(), any());
+        assertEquals(input + 2, rejected(BankingService.STAGE_INPUT));
+        assertEquals(existence + 2, rejected(BankingService.STAGE_EXISTENCE));
+        assertEquals(balance + 1, rejected(BankingService.STAGE_BALANCE));
+    }
+
+    @Test
+    void testSuspiciousTransferIsRejectedAtFraudStage() {
+        doReturn(new ComputationalService.FraudCheckResult(true, 99.0, 0.0, 0.0, 0L))
+            .when(computationalService).performFraudCheck(anyLong(), any());
+        double fraud = rejected(BankingService.STAGE_FRAUD);
+
+        assertThrows(RuntimeException.class, () ->
+            bankingService.transferMoney(source.getAccountId(), target.getAccountId(), BigDecimal.TEN));
+
+        assertEquals(fraud + 1, rejected(BankingService.STAGE_FRAUD));
+        assertTrue(transactionRepository.findAll().isEmpty());
+    }
+
+    private BigDecimal totalBalance(Long[] ids) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long id : ids) {
+            total = total.add(accountRepository.findById(id).orElseThrow().getBalance());
+        }
+        return total;
+    }
+
+    private double rejected(String stage) {
+        Counter counter = meterRegistry.find("banking.transfer.rejected").tag("stage", stage).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}